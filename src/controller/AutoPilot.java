@@ -0,0 +1,502 @@
+package controller;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import model.Direction;
+import model.GameModel;
+import model.IDungeon;
+import model.IPlayer;
+import model.Item;
+import model.Location;
+import model.ModelChange;
+import model.ModelChangeListener;
+import model.ReadonlyGameModel;
+import model.Smell;
+import model.Treasure;
+import model.Weapon;
+
+/**
+ * This class represents a bot that plays the adventure game on its own, either exploring the
+ * dungeon or walking the player to a chosen location. Like a human player, it only knows the
+ * locations the player has visited: their paths, the smell last detected in them and whether a
+ * monster the player survived still dwells in them.
+ *
+ * <p>Paths are planned with A* over the visited locations, entering an unvisited location only
+ * as the last step. The heuristic is the number of moves on an open grid, around the edges when
+ * the dungeon is wrapping, and locations that smell cost more to walk through. Exploring goes to
+ * the nearest unvisited location, whichever it is, so that search has no heuristic. A plan is
+ * followed for as long as the player is on it and its target is unchanged, so a search runs
+ * only when a target is reached or the player leaves the plan, not on every step. Before
+ * entering an unvisited location from one that smells very pungent, the bot shoots into it
+ * until the arrow misses or the monster in it is dead.
+ *
+ * <p>The bot listens to its game for the locations the player enters, so it keeps up with a
+ * game a human plays in between its turns. It is not safe for use by multiple threads.
+ */
+public class AutoPilot implements ModelChangeListener {
+  private static final Direction[] DIRECTIONS = Direction.values();
+  private static final String[] DIRECTION_NAMES = {"N", "S", "E", "W"};
+  private static final int NONE = -1;
+  private static final int DEAD = 2;
+  private static final int CLEARED = 3;
+
+  private final ReadonlyGameModel game;
+  private final int rows;
+  private final int cols;
+  private final boolean wrapping;
+  private final GameCommand[] moves;
+  private final Map<Item, GameCommand> picks;
+
+  private final boolean[] visited;
+  private final int[] neighbours;
+  private final byte[] smells;
+  private final boolean[] blocked;
+  private final byte[] shots;
+
+  private final int[] entries;
+
+  private final int[] path;
+  private int pathLength;
+  private int pathPos;
+  private int plannedTarget;
+  private int target;
+  private int goal;
+  private int lastShot;
+
+  private final int[] cost;
+  private final int[] cameFrom;
+  private final int[] stamp;
+  private int generation;
+  private final long[] heap;
+  private int heapSize;
+
+  private long plans;
+  private long longestPlanNanos;
+
+  /**
+   * Constructs a bot for a game, knowing the locations the player visited so far, and starts
+   * listening to the game.
+   *
+   * @param game the game to play
+   * @throws IllegalArgumentException if the game is null
+   */
+  public AutoPilot(ReadonlyGameModel game) throws IllegalArgumentException {
+    if (game == null) {
+      throw new IllegalArgumentException("Game to play cannot be null!");
+    }
+
+    this.game = game;
+    IDungeon dungeon = game.getDungeon();
+    Location[][] grid = dungeon.getDungeonGrid();
+    this.rows = grid.length;
+    this.cols = grid[0].length;
+    this.wrapping = dungeon.isWrapping();
+
+    this.moves = new GameCommand[DIRECTION_NAMES.length];
+    for (int d = 0; d < DIRECTION_NAMES.length; d++) {
+      this.moves[d] = new Move(DIRECTION_NAMES[d]);
+    }
+    this.picks = new HashMap<>();
+    this.picks.put(Weapon.ARROW, new Pick("arrow"));
+    this.picks.put(Treasure.DIAMOND, new Pick("diamond"));
+    this.picks.put(Treasure.RUBY, new Pick("ruby"));
+    this.picks.put(Treasure.SAPPHIRE, new Pick("sapphire"));
+
+    int size = this.rows * this.cols;
+    this.visited = new boolean[size];
+    this.neighbours = new int[size * 4];
+    this.smells = new byte[size];
+    this.blocked = new boolean[size];
+    this.shots = new byte[size * 4];
+    this.entries = new int[size];
+    this.path = new int[size];
+    this.cost = new int[size];
+    this.cameFrom = new int[size];
+    this.stamp = new int[size];
+    // a location is pushed again only when its cost drops, at most once per path into it
+    this.heap = new long[size * 4 + 1];
+    Arrays.fill(this.neighbours, NONE);
+    Arrays.fill(this.entries, NONE);
+
+    for (Location[] row : grid) {
+      for (Location location : row) {
+        if (location.isVisited()) {
+          this.learn(location);
+        }
+      }
+    }
+    this.learn(game.getPlayer().getCurrentLocation());
+
+    this.target = NONE;
+    this.goal = NONE;
+    this.plannedTarget = NONE;
+    this.lastShot = NONE;
+    game.addModelChangeListener(this);
+  }
+
+  /**
+   * Stops listening to the game, after which the bot should not be used.
+   */
+  public void detach() {
+    this.game.removeModelChangeListener(this);
+  }
+
+  @Override
+  public void modelChanged(ModelChange change) {
+    // a monster the player survived may have been shot dead from elsewhere
+    for (int[] xy : change.getChangedCells()) {
+      int id = xy[0] * this.cols + xy[1];
+      if (this.visited[id] && this.blocked[id]) {
+        Location location = this.game.getDungeon().getLocation(xy[0], xy[1]);
+        this.blocked[id] = location.getMonster().isAlive();
+      }
+    }
+
+    this.learn(this.game.getPlayer().getCurrentLocation());
+  }
+
+  /**
+   * Sets a location for the bot to walk the player to, in place of exploring. The location
+   * should be visited or next to a visited one, or the bot cannot plan a way to it.
+   *
+   * @param row the row of the location
+   * @param col the column of the location
+   * @return true if the bot knows of the location, else false and the goal is not set
+   * @throws IllegalArgumentException if the location is outside the dungeon
+   */
+  public boolean setGoal(int row, int col) throws IllegalArgumentException {
+    if (row < 0 || row >= this.rows || col < 0 || col >= this.cols) {
+      throw new IllegalArgumentException("Goal location is outside the dungeon!");
+    }
+
+    int id = row * this.cols + col;
+    if (!this.visited[id] && this.entries[id] == NONE) {
+      return false;
+    }
+    this.goal = id;
+    return true;
+  }
+
+  /**
+   * Clears the location set to walk the player to, so the bot goes back to exploring.
+   */
+  public void clearGoal() {
+    this.goal = NONE;
+  }
+
+  /**
+   * Checks if the bot is walking the player to a location.
+   *
+   * @return true if a goal is set and not reached yet, else false
+   */
+  public boolean hasGoal() {
+    return this.goal != NONE;
+  }
+
+  /**
+   * Plays one turn of the game the bot was constructed for: picks up an item, shoots, or moves
+   * one step towards its goal or the nearest unexplored location.
+   *
+   * @param play the game the bot was constructed for, to play the turn on
+   * @return true if a turn was played, false if the game is over, the goal is reached, or
+   *         there is nothing left to explore
+   */
+  public boolean step(GameModel play) {
+    GameCommand command = this.nextCommand();
+    if (command == null) {
+      return false;
+    }
+
+    command.execute(play);
+
+    if (command instanceof Shoot) {
+      if (((Shoot) command).hitMonster() && this.shots[this.lastShot] + 1 < DEAD) {
+        this.shots[this.lastShot] += 1;
+      } else {
+        this.shots[this.lastShot] = CLEARED;
+        int next = this.neighbours[this.lastShot];
+        if (!this.visited[next]) {
+          this.entries[next] = this.lastShot;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Retrieves the number of searches the bot ran to plan its paths.
+   *
+   * @return the number of paths planned
+   */
+  public long getPlans() {
+    return this.plans;
+  }
+
+  /**
+   * Retrieves the time taken by the slowest search the bot ran to plan a path.
+   *
+   * @return the longest planning time in nanoseconds
+   */
+  public long getLongestPlanNanos() {
+    return this.longestPlanNanos;
+  }
+
+  private GameCommand nextCommand() {
+    if (this.game.isGameOver()) {
+      return null;
+    }
+
+    IPlayer player = this.game.getPlayer();
+    Location location = player.getCurrentLocation();
+    int cell = location.getId();
+    this.learn(location);
+
+    if (this.goal == cell) {
+      this.goal = NONE;
+      return null;
+    } else if (this.goal == NONE) {
+      for (Item item : location.getContent()) {
+        if (this.picks.containsKey(item)) {
+          return this.picks.get(item);
+        }
+      }
+    }
+
+    if (!this.choosePlan(cell, player.getArrowsLeft())) {
+      return null;
+    }
+
+    int next = this.path[this.pathPos + 1];
+    int exit = this.getExit(cell, next);
+    if (!this.visited[next] && !this.isSafe(exit) && player.getArrowsLeft() > 0) {
+      this.lastShot = exit;
+      return new Shoot(DIRECTION_NAMES[exit & 3], "1");
+    }
+
+    this.pathPos += 1;
+    return this.moves[exit & 3];
+  }
+
+  /**
+   * Makes sure there is a plan from a location to the goal, or to an unexplored location when
+   * there is no goal, keeping the plan being followed if it is still good.
+   */
+  private boolean choosePlan(int cell, int arrows) {
+    if (this.goal != NONE) {
+      this.target = this.goal;
+      if (this.isPlanValid(cell) || this.plan(cell, this.target, true)) {
+        return true;
+      }
+      this.goal = NONE;
+      return false;
+    }
+
+    if (this.target != NONE && !this.visited[this.target] && this.isPlanValid(cell)) {
+      return true;
+    }
+
+    // without arrows, ways into locations that may hold a monster are taken last
+    if (this.plan(cell, NONE, arrows > 0) || (arrows == 0 && this.plan(cell, NONE, true))) {
+      this.target = this.plannedTarget;
+      return true;
+    }
+    this.target = NONE;
+    return false;
+  }
+
+  private boolean isPlanValid(int cell) {
+    if (this.plannedTarget != this.target || this.pathPos + 1 >= this.pathLength
+            || this.path[this.pathPos] != cell) {
+      return false;
+    }
+
+    int next = this.path[this.pathPos + 1];
+    return !this.blocked[next] || next == this.target;
+  }
+
+  /**
+   * Runs A* from a location to a target over the visited locations, entering the target last
+   * if it is not visited. With no target, the nearest unvisited location next to a visited one
+   * is the target, which leaves no distance to estimate, so the search grows evenly from the
+   * source and stops at the first one. The path found is kept as the plan.
+   */
+  private boolean plan(int source, int target, boolean anyWayIn) {
+    long started = System.nanoTime();
+    this.nextGeneration();
+    this.heapSize = 0;
+
+    this.stamp[source] = this.generation;
+    this.cost[source] = 0;
+    this.cameFrom[source] = NONE;
+    this.push(this.heuristic(source, target), source);
+
+    int found = NONE;
+    while (this.heapSize > 0) {
+      long top = this.pop();
+      int id = (int) top;
+      if ((int) (top >>> 32) != this.cost[id] + this.heuristic(id, target)) {
+        // pushed before a cheaper way to it was found
+        continue;
+      } else if (id == target || !this.visited[id]) {
+        found = id;
+        break;
+      }
+
+      for (int exit = id * 4; exit < id * 4 + 4; exit++) {
+        int next = this.neighbours[exit];
+        int step;
+
+        if (next == NONE) {
+          continue;
+        } else if (this.visited[next]) {
+          if (this.blocked[next] && next != target) {
+            continue;
+          }
+          step = 1 + this.smells[next];
+        } else if (target == NONE ? anyWayIn || this.isSafe(exit)
+                : next == target && (this.isSafe(exit) || this.entries[next] == exit)) {
+          step = 1;
+        } else {
+          continue;
+        }
+
+        int nextCost = this.cost[id] + step;
+        if (this.stamp[next] != this.generation || nextCost < this.cost[next]) {
+          this.stamp[next] = this.generation;
+          this.cost[next] = nextCost;
+          this.cameFrom[next] = id;
+          this.push(nextCost + this.heuristic(next, target), next);
+        }
+      }
+    }
+
+    if (found != NONE) {
+      this.pathLength = 0;
+      for (int id = found; id != NONE; id = this.cameFrom[id]) {
+        this.path[this.pathLength++] = id;
+      }
+      for (int i = 0, j = this.pathLength - 1; i < j; i++, j--) {
+        int swap = this.path[i];
+        this.path[i] = this.path[j];
+        this.path[j] = swap;
+      }
+      this.pathPos = 0;
+      this.plannedTarget = found;
+    }
+
+    this.plans += 1;
+    this.longestPlanNanos = Math.max(this.longestPlanNanos, System.nanoTime() - started);
+    return found != NONE;
+  }
+
+  /**
+   * Finds the number of moves between two locations on an open grid, which no path through
+   * the dungeon is shorter than.
+   */
+  private int heuristic(int from, int to) {
+    if (to == NONE) {
+      return 0;
+    }
+
+    int rowDistance = Math.abs(from / this.cols - to / this.cols);
+    int colDistance = Math.abs(from % this.cols - to % this.cols);
+
+    if (this.wrapping) {
+      rowDistance = Math.min(rowDistance, this.rows - rowDistance);
+      colDistance = Math.min(colDistance, this.cols - colDistance);
+    }
+    return rowDistance + colDistance;
+  }
+
+  /**
+   * Checks if a path out of a visited location, given as (location id * 4 + direction
+   * ordinal), leads to a location that cannot hold a living monster.
+   */
+  private boolean isSafe(int exit) {
+    return exit != NONE && (this.smells[exit >> 2] != Smell.MORE_PUNGENT.ordinal()
+            || this.shots[exit] == CLEARED);
+  }
+
+  private int getExit(int cell, int next) {
+    for (int exit = cell * 4; exit < cell * 4 + 4; exit++) {
+      if (this.neighbours[exit] == next) {
+        return exit;
+      }
+    }
+    throw new IllegalStateException("No path between the locations!");
+  }
+
+  private void learn(Location location) {
+    int id = location.getId();
+    this.smells[id] = (byte) location.getSmell().ordinal();
+    this.blocked[id] = location.hasMonster() && location.getMonster().isAlive();
+
+    if (this.visited[id]) {
+      return;
+    }
+    this.visited[id] = true;
+
+    int mask = location.getDirectionMask();
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      if ((mask & (1 << d)) == 0) {
+        continue;
+      }
+
+      int exit = id * 4 + d;
+      int next = location.getNeighbourId(DIRECTIONS[d]);
+      this.neighbours[exit] = next;
+      if (this.visited[next]) {
+        continue;
+      }
+
+      if (this.entries[next] == NONE || (!this.isSafe(this.entries[next]) && this.isSafe(exit))) {
+        this.entries[next] = exit;
+      }
+    }
+  }
+
+  private void nextGeneration() {
+    this.generation += 1;
+    if (this.generation == Integer.MAX_VALUE) {
+      Arrays.fill(this.stamp, 0);
+      this.generation = 1;
+    }
+  }
+
+  /**
+   * Pushes a location on the heap of locations to search, ordered by (estimated cost << 32 |
+   * location id).
+   */
+  private void push(int estimate, int id) {
+    long entry = (long) estimate << 32 | id;
+    int i = this.heapSize++;
+
+    while (i > 0 && this.heap[(i - 1) / 2] > entry) {
+      this.heap[i] = this.heap[(i - 1) / 2];
+      i = (i - 1) / 2;
+    }
+    this.heap[i] = entry;
+  }
+
+  private long pop() {
+    long top = this.heap[0];
+    long last = this.heap[--this.heapSize];
+    int i = 0;
+
+    while (2 * i + 1 < this.heapSize) {
+      int child = 2 * i + 1;
+      if (child + 1 < this.heapSize && this.heap[child + 1] < this.heap[child]) {
+        child += 1;
+      }
+      if (this.heap[child] >= last) {
+        break;
+      }
+      this.heap[i] = this.heap[child];
+      i = child;
+    }
+    this.heap[i] = last;
+    return top;
+  }
+}
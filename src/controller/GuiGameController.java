@@ -21,8 +21,12 @@ import view.NewInputView;
  * creates the view, and responds to any events generated by the view.
  */
 public class GuiGameController implements GuiGameFeatures {
+  private static final int DEFAULT_POOL_SIZE = 2;
+
+  private final ModelPool modelPool;
   private GameModel model;
   private GameView view;
+  private AutoPilot autoPilot;
   private String[] args;
 
   /**
@@ -31,6 +35,20 @@ public class GuiGameController implements GuiGameFeatures {
    * and start the game.
    */
   public GuiGameController() {
+    this(DEFAULT_POOL_SIZE, 1);
+  }
+
+  /**
+   * Constructor for the GUI controller with a configurable pool of pre-built models.
+   * It inflates an 'enter dungeon parameters' input dialog and uses the user-given parameters
+   * to create the model and view and start the game.
+   *
+   * @param poolSize         the number of ready models kept for the current dungeon parameters
+   * @param maxParameterSets the number of dungeon parameter sets whose pooled models are kept,
+   *                         1 evicts the pooled models as soon as a new game changes parameters
+   */
+  public GuiGameController(int poolSize, int maxParameterSets) {
+    this.modelPool = new ModelPool(poolSize, maxParameterSets, this::createNewModel);
     this.args = new NewInputView().getDungeonParams();
 
     this.run();
@@ -43,12 +61,23 @@ public class GuiGameController implements GuiGameFeatures {
    * @param v the view
    */
   public GuiGameController(GameModel m, GameView v) {
+    this.modelPool = new ModelPool(DEFAULT_POOL_SIZE, 1, this::createNewModel);
     this.model = m;
     this.view = v;
   }
 
+  /**
+   * Retrieves the pool of pre-built models used for new and reset games,
+   * e.g., to read its hit and miss counters.
+   *
+   * @return the model pool
+   */
+  public ModelPool getModelPool() {
+    return this.modelPool;
+  }
+
   private void run() {
-    this.model = createNewModel(this.args);
+    this.model = this.modelPool.take(this.args);
 
     if (this.args[this.args.length - 1].equals("console")) {
       this.runConsoleBasedGame();
@@ -96,21 +125,58 @@ public class GuiGameController implements GuiGameFeatures {
   @Override
   public void move(int direction) {
     try {
-      if (direction == 0) {
-        this.model.movePlayer(Direction.NORTH);
-      } else if (direction == 1) {
-        this.model.movePlayer(Direction.SOUTH);
-      } else if (direction == 2) {
-        this.model.movePlayer(Direction.EAST);
-      } else if (direction == 3) {
-        this.model.movePlayer(Direction.WEST);
-      }
+      this.movePlayer(direction);
 
       this.view.refresh();
     } catch (IllegalArgumentException iae) {
       // do nothing
     }
 
+    this.announceGameOver();
+  }
+
+  @Override
+  public void moveAll(int[] directions) {
+    if (directions == null) {
+      return;
+    }
+
+    boolean moved = false;
+    for (int direction : directions) {
+      try {
+        moved |= this.movePlayer(direction);
+      } catch (IllegalArgumentException iae) {
+        // a blocked step is skipped like a single blocked move
+      }
+
+      if (this.model.isGameOver()) {
+        break;
+      }
+    }
+
+    if (moved) {
+      this.view.refresh();
+    }
+
+    this.announceGameOver();
+  }
+
+  private boolean movePlayer(int direction) throws IllegalArgumentException {
+    if (direction == 0) {
+      this.model.movePlayer(Direction.NORTH);
+    } else if (direction == 1) {
+      this.model.movePlayer(Direction.SOUTH);
+    } else if (direction == 2) {
+      this.model.movePlayer(Direction.EAST);
+    } else if (direction == 3) {
+      this.model.movePlayer(Direction.WEST);
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  private void announceGameOver() {
     if (this.model.isGameOver()) {
       if (this.model.getPlayer().isAlive()) {
         this.view.showMessage("Bravo! Player wins!",
@@ -174,11 +240,69 @@ public class GuiGameController implements GuiGameFeatures {
     }
   }
 
+  @Override
+  public void explore(int turns) {
+    AutoPilot pilot = this.getAutoPilot();
+    pilot.clearGoal();
+
+    boolean played = false;
+    try {
+      for (int i = 0; i < turns && pilot.step(this.model); i++) {
+        played = true;
+      }
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      this.view.showMessage(e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    if (played) {
+      this.view.refresh();
+    }
+    this.announceGameOver();
+  }
+
+  @Override
+  public void goToCell(int row, int col) {
+    AutoPilot pilot = this.getAutoPilot();
+    if (!pilot.setGoal(row, col)) {
+      return;
+    }
+
+    boolean played = false;
+    try {
+      while (pilot.hasGoal() && pilot.step(this.model)) {
+        played = true;
+      }
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      this.view.showMessage(e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+    }
+    pilot.clearGoal();
+
+    if (played) {
+      this.view.refresh();
+    }
+    this.announceGameOver();
+  }
+
+  private AutoPilot getAutoPilot() {
+    if (this.autoPilot == null) {
+      this.autoPilot = new AutoPilot(this.model);
+    }
+    return this.autoPilot;
+  }
+
+  private void detachAutoPilot() {
+    if (this.autoPilot != null) {
+      this.autoPilot.detach();
+      this.autoPilot = null;
+    }
+  }
+
   @Override
   public void resetGame() {
+    this.detachAutoPilot();
     this.view.delete();
 
-    this.model = createNewModel(this.args);
+    this.model = this.modelPool.take(this.args);
     this.view = new GuiGameView(this.model);
 
     this.setView();
@@ -186,11 +310,12 @@ public class GuiGameController implements GuiGameFeatures {
 
   @Override
   public void restartGame() {
+    this.detachAutoPilot();
     this.view.delete();
 
     this.args = new NewInputView().getDungeonParams();
 
-    this.model = createNewModel(this.args);
+    this.model = this.modelPool.take(this.args);
     this.view = new GuiGameView(this.model);
 
     this.setView();
@@ -198,6 +323,7 @@ public class GuiGameController implements GuiGameFeatures {
 
   @Override
   public void quitGame() {
+    this.modelPool.shutdown();
     System.exit(0);
   }
 
@@ -207,6 +333,8 @@ public class GuiGameController implements GuiGameFeatures {
 
     if (direction >= 0) {
       this.move(direction);
+    } else if (clickedX != playerX || clickedY != playerY) {
+      this.goToCell(clickedX, clickedY);
     }
   }
 
@@ -18,6 +18,15 @@ public interface GuiGameFeatures extends GameController {
    */
   void move(int direction);
 
+  /**
+   * Method to respond to a batch of movement events, e.g., the auto-repeat of a held key,
+   * by moving the player one step per direction in the model and refreshing the view once.
+   * Steps that are blocked are skipped, and no steps are taken once the game is over.
+   *
+   * @param directions the directions in which to move the player, in order
+   */
+  void moveAll(int[] directions);
+
   /**
    * Method to respond to events for picking up an item and picking it in the model.
    *
@@ -34,6 +43,23 @@ public interface GuiGameFeatures extends GameController {
    */
   void shoot(int direction, String distance);
 
+  /**
+   * Method to let the autopilot play a number of turns exploring the dungeon from what the
+   * player has seen of it, and refresh the view once.
+   *
+   * @param turns the maximum number of turns to play
+   */
+  void explore(int turns);
+
+  /**
+   * Method to let the autopilot walk the player to a location, along the shortest safe way
+   * through the locations the player has visited.
+   *
+   * @param row the row of the location to go to
+   * @param col the column of the location to go to
+   */
+  void goToCell(int row, int col);
+
   /**
    * Method to restore the game to the state it started in.
    */
@@ -0,0 +1,231 @@
+package controller;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import model.GameModel;
+
+/**
+ * This class represents a pool of ready-to-play game models, built ahead of time on a background
+ * worker thread so that a new game can be handed out instantly instead of being built on the
+ * Swing event dispatch thread.
+ *
+ * <p>Models are pooled per set of dungeon parameters. The pool keeps up to a given number of
+ * models for the parameters it was last asked for and refills itself after every take. Models
+ * for parameter sets that have not been used recently are evicted once more than a given number
+ * of parameter sets have been seen.
+ */
+public class ModelPool {
+  private final int capacity;
+  private final Function<String[], GameModel> factory;
+  private final Map<List<String>, Deque<GameModel>> models;
+
+  private ExecutorService worker;
+  private List<String> current;
+  private boolean refilling;
+  private long hits;
+  private long misses;
+
+  /**
+   * Constructs a model pool.
+   *
+   * @param capacity         the number of ready models to keep for the current parameters
+   * @param maxParameterSets the number of parameter sets whose models are kept at once,
+   *                         1 evicts all pooled models as soon as the parameters change
+   * @param factory          the function building a new model from the dungeon parameters
+   * @throws IllegalArgumentException if the capacity is negative, the number of parameter sets
+   *                                  is not positive, or the factory is null
+   */
+  public ModelPool(int capacity, int maxParameterSets, Function<String[], GameModel> factory)
+          throws IllegalArgumentException {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Pool capacity cannot be negative!");
+    } else if (maxParameterSets <= 0) {
+      throw new IllegalArgumentException("Pool should keep at least one parameter set!");
+    } else if (factory == null) {
+      throw new IllegalArgumentException("Model factory cannot be null!");
+    }
+
+    this.capacity = capacity;
+    this.factory = factory;
+    this.models = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<List<String>, Deque<GameModel>> eldest) {
+        return this.size() > maxParameterSets;
+      }
+    };
+  }
+
+  /**
+   * Takes a ready model for the given parameters out of the pool. If none is ready, the model
+   * is built on the calling thread. Either way the pool starts refilling in the background.
+   *
+   * @param args the dungeon parameters
+   * @return a new, unplayed game model
+   * @throws IllegalArgumentException if a model cannot be built from the given parameters
+   */
+  public GameModel take(String[] args) throws IllegalArgumentException {
+    List<String> key = List.of(args);
+    GameModel model;
+
+    synchronized (this) {
+      Deque<GameModel> ready = this.select(key);
+      model = ready.poll();
+
+      if (model == null) {
+        this.misses += 1;
+      } else {
+        this.hits += 1;
+      }
+    }
+
+    if (model == null) {
+      model = this.factory.apply(args);
+    }
+
+    this.refill();
+    return model;
+  }
+
+  /**
+   * Starts filling the pool with models for the given parameters in the background.
+   *
+   * @param args the dungeon parameters
+   */
+  public void prefetch(String[] args) {
+    List<String> key = List.of(args);
+
+    synchronized (this) {
+      this.select(key);
+    }
+
+    this.refill();
+  }
+
+  /**
+   * Retrieves the number of models ready to be taken for the given parameters.
+   *
+   * @param args the dungeon parameters
+   * @return the number of ready models
+   */
+  public synchronized int getReadyCount(String[] args) {
+    Deque<GameModel> ready = this.models.get(List.of(args));
+    return ready == null ? 0 : ready.size();
+  }
+
+  /**
+   * Retrieves the number of models kept ready for the current parameters.
+   *
+   * @return the capacity of the pool
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Retrieves the number of takes that were served by a ready model.
+   *
+   * @return the number of pool hits
+   */
+  public synchronized long getHits() {
+    return this.hits;
+  }
+
+  /**
+   * Retrieves the number of takes that had to build a model on the calling thread.
+   *
+   * @return the number of pool misses
+   */
+  public synchronized long getMisses() {
+    return this.misses;
+  }
+
+  /**
+   * Resets the hit and miss counters to zero.
+   */
+  public synchronized void resetCounters() {
+    this.hits = 0;
+    this.misses = 0;
+  }
+
+  /**
+   * Stops the background worker and drops all the pooled models.
+   */
+  public synchronized void shutdown() {
+    if (this.worker != null) {
+      this.worker.shutdownNow();
+      this.worker = null;
+    }
+
+    this.models.clear();
+    this.refilling = false;
+  }
+
+  private Deque<GameModel> select(List<String> key) {
+    this.current = key;
+    return this.models.computeIfAbsent(key, k -> new ArrayDeque<>());
+  }
+
+  private synchronized void refill() {
+    if (this.refilling || this.capacity == 0) {
+      return;
+    }
+
+    if (this.worker == null) {
+      this.worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "model-pool-worker");
+        t.setDaemon(true);
+        return t;
+      });
+    }
+
+    this.refilling = true;
+    this.worker.execute(this::fill);
+  }
+
+  private void fill() {
+    while (!Thread.currentThread().isInterrupted()) {
+      List<String> key;
+
+      synchronized (this) {
+        Deque<GameModel> ready = this.models.get(this.current);
+        if (ready == null || ready.size() >= this.capacity) {
+          this.refilling = false;
+          return;
+        }
+        key = this.current;
+      }
+
+      GameModel model;
+      try {
+        model = this.factory.apply(key.toArray(new String[0]));
+      } catch (RuntimeException e) {
+        // invalid parameters are reported when the model is taken on the calling thread
+        synchronized (this) {
+          this.refilling = false;
+        }
+        return;
+      }
+
+      synchronized (this) {
+        // the parameters may have changed while building, the model is dropped in that case
+        if (key.equals(this.current)) {
+          Deque<GameModel> ready = this.models.get(key);
+          if (ready != null && ready.size() < this.capacity) {
+            ready.add(model);
+          }
+        }
+      }
+    }
+
+    synchronized (this) {
+      this.refilling = false;
+    }
+  }
+}
@@ -1,14 +1,9 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Random;
-import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The AdventureGameModel class represents the model for the Dungeon Adventure Game
@@ -18,7 +13,14 @@ import java.util.Set;
 public class AdventureGameModel implements GameModel {
   private final IDungeon dungeon;
   private final IPlayer player;
+  private final GridSearch search;
+  private final SmellField smellField;
+  private final ArrowRays arrowRays;
+  private final List<ModelChangeListener> listeners;
+  private final Random encounters;
   private boolean gameOver;
+  private long version;
+  private InventorySnapshot snapshot;
 
   /**
    * Constructs an Adventure Game object with the given arguments.
@@ -33,8 +35,44 @@ public class AdventureGameModel implements GameModel {
    */
   public AdventureGameModel(Random rand, int rows, int cols, boolean wrap, int interconn,
                             double percent, int difficulty) {
-    this.dungeon = new Dungeon(rows, cols, wrap, interconn, percent, difficulty, rand);
+    this(new Dungeon(rows, cols, wrap, interconn, percent, difficulty, rand));
+  }
+
+  /**
+   * Constructs an Adventure Game object played in the given dungeon, which can be any
+   * implementation of a dungeon, e.g., a {@link CompactDungeon} for very large dungeons.
+   * Fights with injured Otyughs are decided at random, differently in every game.
+   *
+   * @param dungeon the dungeon to play in, with the player starting at its start
+   * @throws IllegalArgumentException if the dungeon is null
+   */
+  public AdventureGameModel(IDungeon dungeon) throws IllegalArgumentException {
+    this(dungeon, null);
+  }
+
+  /**
+   * Constructs an Adventure Game object played in the given dungeon, whose fights with injured
+   * Otyughs are decided by the given random, e.g., so that seeded simulations can be repeated.
+   * The random should not be used by another thread while the game is played.
+   *
+   * @param dungeon    the dungeon to play in, with the player starting at its start
+   * @param encounters the random deciding the fights with injured Otyughs, or null to decide
+   *                   them differently in every game
+   * @throws IllegalArgumentException if the dungeon is null
+   */
+  public AdventureGameModel(IDungeon dungeon, Random encounters)
+          throws IllegalArgumentException {
+    if (dungeon == null) {
+      throw new IllegalArgumentException("Game dungeon cannot be null!");
+    }
+
+    this.dungeon = dungeon;
     this.player = new Player(this.dungeon.getStart());
+    this.search = GridSearch.of(this.dungeon);
+    this.smellField = new SmellField(this.search, this::hasLivingMonster);
+    this.arrowRays = new ArrowRays(this.search);
+    this.listeners = new ArrayList<>();
+    this.encounters = encounters;
     this.gameOver = false;
 
     this.detectSmellAtPlayerLocation();
@@ -62,25 +100,24 @@ public class AdventureGameModel implements GameModel {
 
   @Override
   public void movePlayer(Direction d) throws IllegalArgumentException {
-    if (!this.player.getCurrentLocation().getPossibleDirections().contains(d)) {
+    if ((this.player.getCurrentLocation().getDirectionMask() & (1 << d.ordinal())) == 0) {
       throw new IllegalArgumentException("Cannot move in the " + d.toString().charAt(0)
               + " direction from the current location!");
     }
 
-    int[] xy = this.player.getCurrentLocation().getNeighbour(d);
-    int x = xy[0];
-    int y = xy[1];
-
-    Location newLocation = this.dungeon.getLocation(x, y);
+    Location oldLocation = this.player.getCurrentLocation();
+    Location newLocation = this.getLocation(oldLocation.getNeighbourId(d));
 
     ((Player) this.player).updateLocation(newLocation);
+    this.version += 1;
 
     Location currPlayerLocation = this.player.getCurrentLocation();
     this.detectSmellAtPlayerLocation();
 
     if (currPlayerLocation.hasMonster()) {
       Monster monster = currPlayerLocation.getMonster();
-      boolean playerGetsEaten = ((Otyugh) monster).eatPlayer();
+      boolean playerGetsEaten = ((Otyugh) monster).eatPlayer(this.encounters == null
+              ? ThreadLocalRandom.current() : this.encounters);
 
       if (playerGetsEaten) {
         this.gameOver = true;
@@ -89,6 +126,11 @@ public class AdventureGameModel implements GameModel {
         this.gameOver = true;
       }
     }
+
+    if (!this.listeners.isEmpty()) {
+      this.notifyListeners(List.of(oldLocation.getCoordinates(),
+              currPlayerLocation.getCoordinates()), true, false);
+    }
   }
 
   @Override
@@ -99,12 +141,18 @@ public class AdventureGameModel implements GameModel {
     }
 
     i.pick((Player) this.player);
+    this.version += 1;
+
+    if (!this.listeners.isEmpty()) {
+      this.notifyListeners(List.of(this.player.getCurrentLocation().getCoordinates()),
+              false, true);
+    }
   }
 
   @Override
   public boolean shootArrow(Direction d, int distance)
           throws IllegalArgumentException, IllegalStateException {
-    if (!this.player.getCurrentLocation().getPossibleDirections().contains(d)) {
+    if ((this.player.getCurrentLocation().getDirectionMask() & (1 << d.ordinal())) == 0) {
       throw new IllegalArgumentException("Cannot shoot arrow in the " + d.toString().charAt(0)
               + " direction from the current location!");
     }
@@ -120,100 +168,95 @@ public class AdventureGameModel implements GameModel {
     }
 
     ((Player) this.player).shootArrow();
-    boolean successfulHit = this.arrowTraversal(this.player.getCurrentLocation(), d, distance);
+    this.version += 1;
+    int hitCave = this.arrowTraversal(this.player.getCurrentLocation(), d, distance);
     this.detectSmellAtPlayerLocation();
 
-    return successfulHit;
+    if (!this.listeners.isEmpty()) {
+      List<int[]> changedCells = new ArrayList<>();
+      changedCells.add(this.player.getCurrentLocation().getCoordinates());
+      if (hitCave >= 0) {
+        changedCells.add(new int[]{this.search.toRow(hitCave), this.search.toCol(hitCave)});
+      }
+      this.notifyListeners(changedCells, false, true);
+    }
+
+    return hitCave >= 0;
   }
 
-  private boolean arrowTraversal(Location currLoc, Direction d, int distance) {
-    Map<Direction, Direction> entryExit = new HashMap<>();
-    entryExit.put(Direction.EAST, Direction.WEST);
-    entryExit.put(Direction.WEST, Direction.EAST);
-    entryExit.put(Direction.NORTH, Direction.SOUTH);
-    entryExit.put(Direction.SOUTH, Direction.NORTH);
+  private int arrowTraversal(Location currLoc, Direction d, int distance) {
+    int id = currLoc.getId();
+    int direction = d.ordinal();
 
     while (distance != 0) {
-      int[] xy = currLoc.getNeighbour(d);
-      Location nextLoc = this.dungeon.getLocation(xy[0], xy[1]);
-      List<Direction> possibleDirections = new ArrayList<>(nextLoc.getPossibleDirections());
-      possibleDirections.remove(entryExit.get(d));
-
-      if (nextLoc.isCave()) {
-        distance -= 1;
-
-        if (distance == 0 && nextLoc.hasMonster()) {
-          ((Otyugh) nextLoc.getMonster()).takeHit();
-          return true;
-        } else if (distance > 0 && possibleDirections.contains(d)) {
-          currLoc = nextLoc;
-        } else if (distance > 0 && !possibleDirections.contains(d)) {
-          return false;
+      int ray = this.arrowRays.next(id, direction);
+      id = ArrowRays.getCave(ray);
+      direction = ArrowRays.getDirection(ray);
+      distance -= 1;
+
+      if (distance == 0) {
+        Location target = this.getLocation(id);
+
+        if (target.hasMonster()) {
+          Otyugh monster = (Otyugh) target.getMonster();
+          boolean wasAlive = monster.isAlive();
+          monster.takeHit();
+
+          if (wasAlive && !monster.isAlive()) {
+            this.smellField.monsterKilled(id);
+          }
+          return id;
         }
-      } else {
-        d = possibleDirections.get(0);
-        currLoc = nextLoc;
+      } else if (!this.arrowRays.hasPath(id, direction)) {
+        return -1;
       }
     }
 
-    return false;
+    return -1;
   }
 
   private void detectSmellAtPlayerLocation() {
     Location cell = this.player.getCurrentLocation();
-    int[] xy = cell.getCoordinates();
-    int monsterDepthOne = this.bfsHelper(xy[0], xy[1], 1);
-    int monsterDepthTwo = this.bfsHelper(xy[0], xy[1], 2);
-
-    if (monsterDepthOne > 0 || monsterDepthTwo > 1) {
-      ((Cell) cell).updateSmell(Smell.MORE_PUNGENT);
-    } else if (monsterDepthTwo == 1) {
-      ((Cell) cell).updateSmell(Smell.LESS_PUNGENT);
-    } else {
-      ((Cell) cell).updateSmell(Smell.NONE);
-    }
+    ((MutableLocation) cell).updateSmell(this.smellField.getSmell(cell.getId()));
   }
 
-  private int bfsHelper(int row, int col, int maxHeight) {
-    Set<Location> visited = new HashSet<>();
-    Queue<Location> q = new LinkedList<>();
-    Queue<Integer> qHeight = new LinkedList<>();
-
-    q.add(this.dungeon.getLocation(row, col));
-    qHeight.add(0);
-
-    int monsterCount = 0;
-
-    while (!q.isEmpty()) {
-      Location cell = q.remove();
-      int height = qHeight.remove();
-
-      if (height > maxHeight) {
-        return monsterCount;
-      }
+  private boolean hasLivingMonster(int id) {
+    Location cell = this.getLocation(id);
+    return cell.hasMonster() && cell.getMonster().isAlive();
+  }
 
-      if (cell.hasMonster()) {
-        if (cell.getMonster().getHitsTaken() < 2) {
-          monsterCount += 1;
-        }
-      }
+  private Location getLocation(int id) {
+    return this.dungeon.getLocation(this.search.toRow(id), this.search.toCol(id));
+  }
 
-      visited.add(cell);
+  @Override
+  public void addModelChangeListener(ModelChangeListener listener)
+          throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Model change listener cannot be null!");
+    }
+    this.listeners.add(listener);
+  }
 
-      for (Direction d : cell.getPossibleDirections()) {
-        int[] coordinates = cell.getNeighbour(d);
-        int x = coordinates[0];
-        int y = coordinates[1];
-        Location child = this.dungeon.getLocation(x, y);
+  @Override
+  public void removeModelChangeListener(ModelChangeListener listener) {
+    this.listeners.remove(listener);
+  }
 
-        if (!visited.contains(child)) {
-          q.add(child);
-          qHeight.add(height + 1);
-        }
-      }
+  private void notifyListeners(List<int[]> changedCells, boolean playerChanged,
+                               boolean inventoryChanged) {
+    ModelChange change = new ModelChange(changedCells, playerChanged, inventoryChanged);
+    for (ModelChangeListener listener : new ArrayList<>(this.listeners)) {
+      listener.modelChanged(change);
     }
+  }
 
-    return 0;
+  @Override
+  public InventorySnapshot getInventorySnapshot() {
+    if (this.snapshot == null || this.snapshot.getVersion() != this.version) {
+      this.snapshot = new InventorySnapshot(this.version, this.player);
+    }
+    return this.snapshot;
   }
 
   @Override
@@ -223,7 +266,7 @@ public class AdventureGameModel implements GameModel {
 
   @Override
   public String getGameState() {
-    String[][] dungeonLayout = ((Dungeon) this.dungeon).getDungeonLayout();
+    String[][] dungeonLayout = Dungeon.getDungeonLayout(this.dungeon);
     int[] playerLocation = this.player.getCurrentLocation().getCoordinates();
 
     int rowInLayout = 1 + playerLocation[0] * 3;
@@ -0,0 +1,109 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the flight of arrows through a dungeon, cave to cave. An arrow flies
+ * straight through caves and follows the bends of tunnels, so from any location and direction
+ * the next cave it reaches and the direction it enters that cave in are always the same. These
+ * are found once per location and direction, following the tunnels in between, and cached,
+ * so that an arrow flight over k caves is k table lookups.
+ *
+ * <p>Rays are packed as (cave id * 4 + direction ordinal) into an int.
+ */
+class ArrowRays {
+  private static final int UNKNOWN = -2;
+  private static final int NO_RAY = -1;
+
+  private final GridSearch search;
+  private final int[] rays;
+
+  /**
+   * Constructs the arrow rays of a dungeon, to be found on first use.
+   *
+   * @param search the search over the dungeon grid, giving the paths between locations
+   */
+  ArrowRays(GridSearch search) {
+    this.search = search;
+    this.rays = new int[search.size() * 4];
+    Arrays.fill(this.rays, UNKNOWN);
+  }
+
+  /**
+   * Finds the next cave an arrow reaches when it leaves a location in a direction.
+   *
+   * @param id        the id of the location the arrow leaves
+   * @param direction the ordinal of the direction the arrow leaves in
+   * @return the ray to the next cave, or -1 if there is no path in that direction
+   */
+  int next(int id, int direction) {
+    int ray = this.rays[id * 4 + direction];
+
+    if (ray == UNKNOWN) {
+      ray = this.follow(id, direction);
+      this.rays[id * 4 + direction] = ray;
+    }
+    return ray;
+  }
+
+  /**
+   * Checks if an arrow can fly on from a location in a direction.
+   *
+   * @param id        the location id
+   * @param direction the ordinal of the direction
+   * @return true if there is a path in that direction, else false
+   */
+  boolean hasPath(int id, int direction) {
+    return this.search.getNeighbour(id, direction) != -1;
+  }
+
+  /**
+   * Retrieves the cave a ray ends in.
+   *
+   * @param ray the ray
+   * @return the id of the cave
+   */
+  static int getCave(int ray) {
+    return ray >>> 2;
+  }
+
+  /**
+   * Retrieves the direction an arrow enters the cave a ray ends in.
+   *
+   * @param ray the ray
+   * @return the ordinal of the direction
+   */
+  static int getDirection(int ray) {
+    return ray & 3;
+  }
+
+  private int follow(int id, int direction) {
+    int next = this.search.getNeighbour(id, direction);
+
+    // a chain of tunnels always ends in a cave, the bound only guards a malformed grid
+    for (int steps = 0; next != -1 && steps < this.search.size(); steps++) {
+      int exits = 0;
+      int exit = -1;
+
+      for (int d = 0; d < 4; d++) {
+        if (this.search.getNeighbour(next, d) != -1) {
+          exits += 1;
+          // the arrow cannot turn back the way it came, N/S and E/W differ in the lowest bit
+          if (exit == -1 && d != (direction ^ 1)) {
+            exit = d;
+          }
+        }
+      }
+
+      if (exits != 2) {
+        return next * 4 + direction;
+      }
+
+      id = next;
+      direction = exit;
+      next = this.search.getNeighbour(id, direction);
+    }
+
+    return NO_RAY;
+  }
+}
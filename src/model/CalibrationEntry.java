@@ -0,0 +1,184 @@
+package model;
+
+/**
+ * This class represents the estimated chance of winning games of one dungeon configuration,
+ * from a number of simulated games, with its 95% confidence interval.
+ */
+public class CalibrationEntry {
+  private static final double Z = 1.96;
+
+  private final int rows;
+  private final int columns;
+  private final boolean wrapping;
+  private final int interconnectivity;
+  private final double treasurePct;
+  private final int difficulty;
+  private final long games;
+  private final long wins;
+
+  /**
+   * Constructs the estimate of a dungeon configuration.
+   *
+   * @param rows              the number of rows in the dungeon
+   * @param columns           the number of columns in the dungeon
+   * @param wrapping          if the dungeon is wrapping
+   * @param interconnectivity the degree of interconnectivity of the dungeon
+   * @param treasurePct       the percentage of caves with treasure
+   * @param difficulty        the number of monsters in the dungeon
+   * @param games             the number of games played
+   * @param wins              the number of games won
+   */
+  CalibrationEntry(int rows, int columns, boolean wrapping, int interconnectivity,
+                   double treasurePct, int difficulty, long games, long wins) {
+    this.rows = rows;
+    this.columns = columns;
+    this.wrapping = wrapping;
+    this.interconnectivity = interconnectivity;
+    this.treasurePct = treasurePct;
+    this.difficulty = difficulty;
+    this.games = games;
+    this.wins = wins;
+  }
+
+  /**
+   * Retrieves the number of rows in the dungeon.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Retrieves the number of columns in the dungeon.
+   *
+   * @return the number of columns
+   */
+  public int getColumns() {
+    return this.columns;
+  }
+
+  /**
+   * Checks if the dungeon is wrapping.
+   *
+   * @return true if the dungeon is wrapping, else false
+   */
+  public boolean isWrapping() {
+    return this.wrapping;
+  }
+
+  /**
+   * Retrieves the degree of interconnectivity of the dungeon.
+   *
+   * @return the interconnectivity
+   */
+  public int getInterconnectivity() {
+    return this.interconnectivity;
+  }
+
+  /**
+   * Retrieves the percentage of caves with treasure.
+   *
+   * @return the treasure percentage
+   */
+  public double getTreasurePct() {
+    return this.treasurePct;
+  }
+
+  /**
+   * Retrieves the difficulty, i.e., the number of monsters in the dungeon.
+   *
+   * @return the difficulty
+   */
+  public int getDifficulty() {
+    return this.difficulty;
+  }
+
+  /**
+   * Retrieves the number of games the estimate is made from.
+   *
+   * @return the number of games
+   */
+  public long getGames() {
+    return this.games;
+  }
+
+  /**
+   * Retrieves the number of games won.
+   *
+   * @return the number of wins
+   */
+  public long getWins() {
+    return this.wins;
+  }
+
+  /**
+   * Retrieves the estimated chance of winning.
+   *
+   * @return the share of games won
+   */
+  public double getWinRate() {
+    return this.games == 0 ? 0 : (double) this.wins / this.games;
+  }
+
+  /**
+   * Retrieves the lower end of the 95% confidence interval of the chance of winning.
+   *
+   * @return the lower bound
+   */
+  public double getLowerBound() {
+    return this.center() - this.getHalfWidth();
+  }
+
+  /**
+   * Retrieves the upper end of the 95% confidence interval of the chance of winning.
+   *
+   * @return the upper bound
+   */
+  public double getUpperBound() {
+    return this.center() + this.getHalfWidth();
+  }
+
+  /**
+   * Retrieves half the width of the 95% confidence interval of the chance of winning.
+   * The Wilson score interval is used, which stays within 0 and 1 for few games or rates
+   * close to 0 or 1.
+   *
+   * @return the half width of the interval
+   */
+  public double getHalfWidth() {
+    return halfWidth(this.games, this.wins);
+  }
+
+  /**
+   * Computes half the width of the 95% confidence interval of a chance of winning.
+   *
+   * @param games the number of games played
+   * @param wins  the number of games won
+   * @return the half width of the Wilson score interval, 1 if no games were played
+   */
+  static double halfWidth(long games, long wins) {
+    if (games == 0) {
+      return 1;
+    }
+
+    double p = (double) wins / games;
+    double denominator = 1 + Z * Z / games;
+    return Z * Math.sqrt(p * (1 - p) / games + Z * Z / (4.0 * games * games)) / denominator;
+  }
+
+  private double center() {
+    if (this.games == 0) {
+      return 0.5;
+    }
+
+    double p = this.getWinRate();
+    return (p + Z * Z / (2.0 * this.games)) / (1 + Z * Z / this.games);
+  }
+
+  @Override
+  public String toString() {
+    return this.rows + "," + this.columns + "," + this.wrapping + "," + this.interconnectivity
+            + "," + this.treasurePct + "," + this.difficulty + "," + this.games + "," + this.wins;
+  }
+}
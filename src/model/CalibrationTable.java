@@ -0,0 +1,171 @@
+package model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * This class represents the estimated chances of winning over a sweep of dungeon
+ * configurations. It is used to pick the difficulty, i.e., the number of monsters, that comes
+ * closest to a wanted chance of winning for given dungeon parameters, e.g., for presets.
+ *
+ * <p>Tables are written and read as lines of comma-separated values, one configuration per
+ * line: rows, columns, wrapping, interconnectivity, treasure percentage, difficulty, games and
+ * wins. Lines starting with '#' are comments.
+ */
+public class CalibrationTable {
+  private final List<CalibrationEntry> entries;
+
+  /**
+   * Constructs a table of the given estimates.
+   *
+   * @param entries the estimates, one per dungeon configuration
+   * @throws IllegalArgumentException if the estimates are null
+   */
+  public CalibrationTable(List<CalibrationEntry> entries) throws IllegalArgumentException {
+    if (entries == null) {
+      throw new IllegalArgumentException("Calibration entries cannot be null!");
+    }
+
+    this.entries = new ArrayList<>(entries);
+  }
+
+  /**
+   * Reads a table written by {@link #write(Appendable)}.
+   *
+   * @param in the source to read the table from
+   * @return the table read
+   * @throws IllegalArgumentException if the source is null or a line is not a valid estimate
+   */
+  public static CalibrationTable read(Readable in) throws IllegalArgumentException {
+    if (in == null) {
+      throw new IllegalArgumentException("Calibration source cannot be null!");
+    }
+
+    List<CalibrationEntry> entries = new ArrayList<>();
+    Scanner scanner = new Scanner(in);
+
+    while (scanner.hasNextLine()) {
+      String line = scanner.nextLine().trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+
+      String[] fields = line.split(",");
+      if (fields.length != 8) {
+        throw new IllegalArgumentException("Invalid calibration line: " + line + "!");
+      }
+
+      try {
+        entries.add(new CalibrationEntry(Integer.parseInt(fields[0].trim()),
+                Integer.parseInt(fields[1].trim()), Boolean.parseBoolean(fields[2].trim()),
+                Integer.parseInt(fields[3].trim()), Double.parseDouble(fields[4].trim()),
+                Integer.parseInt(fields[5].trim()), Long.parseLong(fields[6].trim()),
+                Long.parseLong(fields[7].trim())));
+      } catch (NumberFormatException nfe) {
+        throw new IllegalArgumentException("Invalid calibration line: " + line + "!");
+      }
+    }
+
+    return new CalibrationTable(entries);
+  }
+
+  /**
+   * Writes the table, one line per estimate after a header comment.
+   *
+   * @param out the destination to write the table to
+   * @throws IOException if the table cannot be written
+   */
+  public void write(Appendable out) throws IOException {
+    out.append("# rows,columns,wrapping,interconnectivity,treasurePct,difficulty,games,wins\n");
+    for (CalibrationEntry entry : this.entries) {
+      out.append(entry.toString()).append("\n");
+    }
+  }
+
+  /**
+   * Retrieves the estimates of the table.
+   *
+   * @return a copy of the estimates, in the order they were calibrated
+   */
+  public List<CalibrationEntry> getEntries() {
+    return new ArrayList<>(this.entries);
+  }
+
+  /**
+   * Finds the difficulty whose estimated chance of winning is closest to the target, among the
+   * estimates of the calibrated configuration closest to the given dungeon parameters.
+   * Configurations are compared by wrapping first, then by their number of locations,
+   * interconnectivity and treasure percentage.
+   *
+   * @param rows              the number of rows in the dungeon
+   * @param columns           the number of columns in the dungeon
+   * @param wrapping          if the dungeon is wrapping
+   * @param interconnectivity the degree of interconnectivity of the dungeon
+   * @param treasurePct       the percentage of caves with treasure
+   * @param targetWinRate     the wanted chance of winning, between 0 and 1
+   * @return the difficulty, i.e., the number of monsters
+   * @throws IllegalStateException if the table is empty
+   */
+  public int getDifficulty(int rows, int columns, boolean wrapping, int interconnectivity,
+                           double treasurePct, double targetWinRate)
+          throws IllegalStateException {
+    if (this.entries.isEmpty()) {
+      throw new IllegalStateException("Calibration table is empty!");
+    }
+
+    CalibrationEntry nearest = null;
+    double nearestDistance = Double.MAX_VALUE;
+    for (CalibrationEntry entry : this.entries) {
+      double distance = (entry.isWrapping() == wrapping ? 0 : 1e9)
+              + Math.abs(Math.log((double) entry.getRows() * entry.getColumns()
+              / Math.max(1, rows * columns))) * 100
+              + Math.abs(entry.getInterconnectivity() - interconnectivity)
+              + Math.abs(entry.getTreasurePct() - treasurePct) / 100;
+
+      if (distance < nearestDistance) {
+        nearest = entry;
+        nearestDistance = distance;
+      }
+    }
+
+    CalibrationEntry best = null;
+    for (CalibrationEntry entry : this.entries) {
+      if (entry.getRows() == nearest.getRows() && entry.getColumns() == nearest.getColumns()
+              && entry.isWrapping() == nearest.isWrapping()
+              && entry.getInterconnectivity() == nearest.getInterconnectivity()
+              && entry.getTreasurePct() == nearest.getTreasurePct()
+              && (best == null || Math.abs(entry.getWinRate() - targetWinRate)
+              < Math.abs(best.getWinRate() - targetWinRate))) {
+        best = entry;
+      }
+    }
+
+    return best.getDifficulty();
+  }
+
+  /**
+   * Finds the difficulty of a preset for the given dungeon parameters.
+   *
+   * @param rows              the number of rows in the dungeon
+   * @param columns           the number of columns in the dungeon
+   * @param wrapping          if the dungeon is wrapping
+   * @param interconnectivity the degree of interconnectivity of the dungeon
+   * @param treasurePct       the percentage of caves with treasure
+   * @param preset            the difficulty preset
+   * @return the difficulty, i.e., the number of monsters
+   * @throws IllegalArgumentException if the preset is null
+   * @throws IllegalStateException    if the table is empty
+   */
+  public int getDifficulty(int rows, int columns, boolean wrapping, int interconnectivity,
+                           double treasurePct, DifficultyPreset preset)
+          throws IllegalArgumentException, IllegalStateException {
+    if (preset == null) {
+      throw new IllegalArgumentException("Difficulty preset cannot be null!");
+    }
+
+    return this.getDifficulty(rows, columns, wrapping, interconnectivity, treasurePct,
+            preset.getTargetWinRate());
+  }
+}
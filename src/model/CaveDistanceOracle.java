@@ -0,0 +1,571 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class represents the shortest distances between the locations of a dungeon, found once so
+ * that a query is a lookup instead of a breadth-first search. A tunnel has exactly two exits, so
+ * a chain of tunnels is a single path between the caves at its two ends. The dungeon is reduced
+ * to a graph of its caves with the lengths of those chains as weights, and a distance from or to
+ * a tunnel goes out through the ends of its chain.
+ *
+ * <p>When the distances between all pairs of caves fit in the given number of table entries,
+ * they are found by one Dijkstra search per cave, run in parallel on a fork-join pool, and a
+ * query is a table lookup. Otherwise every cave gets a label of distances to some hub caves, by
+ * pruned landmark labeling: the caves are searched from one by one, most connected first, and a
+ * search does not go on past caves whose distance the labels made so far already give. Every
+ * shortest path passes through a hub in the labels of both of its ends, so a query merges two
+ * labels sorted by hub. Labels stay small in mazes, whose caves are mostly joined like a tree.
+ *
+ * <p>Distances are kept in the table as 16-bit values, so dungeons of 65535 locations or more
+ * are always labeled. Once constructed, the oracle is safe for use by multiple threads.
+ */
+public class CaveDistanceOracle {
+  /**
+   * The number of cave pairs whose distances are tabulated by default, taking 32 MB.
+   */
+  public static final int DEFAULT_TABLE_ENTRIES = 1 << 24;
+
+  private static final int NONE = -1;
+  private static final int UNREACHABLE = -1;
+  private static final int INFINITY = Integer.MAX_VALUE;
+  private static final int MAX_TABLE_DISTANCE = Character.MAX_VALUE;
+  private static final int SOURCES_PER_TASK = 16;
+  private static final int RANKING_SAMPLES = 16;
+
+  private final int noOfCaves;
+  private final int[] caveIndex;
+  private final int[] chain;
+  private final int[] startCave;
+  private final int[] endCave;
+  private final int[] toStart;
+  private final int[] toEnd;
+
+  private final int[] edgeStart;
+  private final int[] edgeTo;
+  private final int[] edgeWeight;
+
+  private final char[] table;
+  private final int[] labelStart;
+  private final int[] labelHub;
+  private final int[] labelDistance;
+
+  /**
+   * Constructs the distance oracle of a dungeon, tabulating the distances between its caves on
+   * the common fork-join pool if there are at most {@link #DEFAULT_TABLE_ENTRIES} cave pairs.
+   *
+   * @param dungeon the dungeon to find the distances in
+   * @throws IllegalArgumentException if the dungeon is null
+   */
+  public CaveDistanceOracle(IDungeon dungeon) throws IllegalArgumentException {
+    this(dungeon, DEFAULT_TABLE_ENTRIES, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs the distance oracle of a dungeon, tabulating the distances between its caves with
+   * the given number of worker threads if there are at most the given number of cave pairs.
+   *
+   * @param dungeon         the dungeon to find the distances in
+   * @param maxTableEntries the most cave pairs to tabulate, 0 to always label the caves
+   * @param parallelism     the number of worker threads to tabulate the distances with
+   * @throws IllegalArgumentException if the dungeon is null, the table entries are negative
+   *                                  or the parallelism is not positive
+   */
+  public CaveDistanceOracle(IDungeon dungeon, int maxTableEntries, int parallelism)
+          throws IllegalArgumentException {
+    this(dungeon, maxTableEntries, newPool(parallelism));
+  }
+
+  private CaveDistanceOracle(IDungeon dungeon, int maxTableEntries, ForkJoinPool pool)
+          throws IllegalArgumentException {
+    try {
+      if (maxTableEntries < 0) {
+        throw new IllegalArgumentException("Table entries cannot be negative!");
+      }
+
+      GridSearch search = GridSearch.of(dungeon);
+      int size = search.size();
+      this.caveIndex = new int[size];
+      this.chain = new int[size];
+      this.startCave = new int[size];
+      this.endCave = new int[size];
+      this.toStart = new int[size];
+      this.toEnd = new int[size];
+      Arrays.fill(this.chain, NONE);
+
+      int caves = 0;
+      for (int id = 0; id < size; id++) {
+        this.caveIndex[id] = degree(search, id) == 2 ? NONE : caves++;
+      }
+      this.noOfCaves = caves;
+      this.edgeStart = new int[caves + 1];
+      this.edgeTo = new int[this.countEdges(search)];
+      this.edgeWeight = new int[this.edgeTo.length];
+      this.reduce(search);
+
+      if (size <= MAX_TABLE_DISTANCE && (long) caves * caves <= maxTableEntries) {
+        this.table = new char[caves * caves];
+        pool.invoke(new TabulateTask(this, 0, caves));
+        this.labelStart = null;
+        this.labelHub = null;
+        this.labelDistance = null;
+      } else {
+        this.table = null;
+        this.labelStart = new int[caves + 1];
+        int[][] labels = this.label();
+        this.labelHub = labels[0];
+        this.labelDistance = labels[1];
+      }
+    } finally {
+      if (pool != ForkJoinPool.commonPool()) {
+        pool.shutdown();
+      }
+    }
+  }
+
+  private static ForkJoinPool newPool(int parallelism) throws IllegalArgumentException {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("Parallelism should be positive!");
+    }
+    return new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * Finds the shortest distance between two locations of the dungeon.
+   *
+   * @param from the location to start from
+   * @param to   the location to reach
+   * @return the number of moves from one location to the other, or -1 if there is no way
+   * @throws IllegalArgumentException if either location is null or not in the dungeon
+   */
+  public int distance(Location from, Location to) throws IllegalArgumentException {
+    if (from == null || to == null) {
+      throw new IllegalArgumentException("Locations cannot be null!");
+    }
+    return this.distance(from.getId(), to.getId());
+  }
+
+  /**
+   * Finds the shortest distance between two locations of the dungeon given by their ids, i.e.,
+   * row * number of columns + column.
+   *
+   * @param from the id of the location to start from
+   * @param to   the id of the location to reach
+   * @return the number of moves from one location to the other, or -1 if there is no way
+   * @throws IllegalArgumentException if either id is not in the dungeon
+   */
+  public int distance(int from, int to) throws IllegalArgumentException {
+    if (from < 0 || from >= this.caveIndex.length || to < 0 || to >= this.caveIndex.length) {
+      throw new IllegalArgumentException("Location is outside the dungeon!");
+    } else if (from == to) {
+      return 0;
+    } else if (this.isCutOff(from) || this.isCutOff(to)) {
+      return UNREACHABLE;
+    }
+
+    long best = INFINITY;
+    if (this.chain[from] != NONE && this.chain[from] == this.chain[to]) {
+      // along the chain, which both of its ends are no shorter than
+      best = Math.abs(this.toStart[from] - this.toStart[to]);
+    }
+
+    if (this.caveIndex[from] != NONE) {
+      best = Math.min(best, this.toCave(this.caveIndex[from], 0, to));
+    } else {
+      best = Math.min(best, this.toCave(this.startCave[from], this.toStart[from], to));
+      best = Math.min(best, this.toCave(this.endCave[from], this.toEnd[from], to));
+    }
+    return best >= INFINITY ? UNREACHABLE : (int) best;
+  }
+
+  /**
+   * Checks if the distances between all the caves are tabulated, rather than labeled.
+   *
+   * @return true if a query is a table lookup, false if it merges two labels
+   */
+  public boolean isTabulated() {
+    return this.table != null;
+  }
+
+  /**
+   * Retrieves the number of distances kept, i.e., the size of the table or of all the labels.
+   *
+   * @return the number of distances
+   */
+  public long getEntries() {
+    return this.table != null ? this.table.length : this.labelHub.length;
+  }
+
+  private boolean isCutOff(int id) {
+    // a tunnel whose chain no cave leads into, which a dungeon of connected caves never has
+    return this.caveIndex[id] == NONE && this.chain[id] == NONE;
+  }
+
+  private long toCave(int cave, int offset, int to) {
+    if (this.caveIndex[to] != NONE) {
+      return offset + this.caveDistance(cave, this.caveIndex[to]);
+    }
+    return offset + Math.min(
+            this.caveDistance(cave, this.startCave[to]) + (long) this.toStart[to],
+            this.caveDistance(cave, this.endCave[to]) + (long) this.toEnd[to]);
+  }
+
+  private long caveDistance(int a, int b) {
+    if (a == b) {
+      return 0;
+    } else if (this.table != null) {
+      char d = this.table[a * this.noOfCaves + b];
+      return d == MAX_TABLE_DISTANCE ? INFINITY : d;
+    }
+
+    // both labels are sorted by hub, so the hubs they share are found in one merge
+    long best = INFINITY;
+    int i = this.labelStart[a];
+    int j = this.labelStart[b];
+    while (i < this.labelStart[a + 1] && j < this.labelStart[b + 1]) {
+      if (this.labelHub[i] < this.labelHub[j]) {
+        i += 1;
+      } else if (this.labelHub[i] > this.labelHub[j]) {
+        j += 1;
+      } else {
+        best = Math.min(best, (long) this.labelDistance[i] + this.labelDistance[j]);
+        i += 1;
+        j += 1;
+      }
+    }
+    return best;
+  }
+
+  private static int degree(GridSearch search, int id) {
+    int degree = 0;
+    for (int d = 0; d < 4; d++) {
+      if (search.getNeighbour(id, d) != -1) {
+        degree += 1;
+      }
+    }
+    return degree;
+  }
+
+  private int countEdges(GridSearch search) {
+    int edges = 0;
+    for (int id = 0; id < search.size(); id++) {
+      if (this.caveIndex[id] != NONE) {
+        edges += degree(search, id);
+      }
+    }
+    return edges;
+  }
+
+  /**
+   * Follows every path out of every cave through its chain of tunnels to the cave at the other
+   * end, which gives the edges of the reduced graph, and marks every tunnel with the caves at
+   * the ends of its chain. A chain is followed once from each end and marked the first time.
+   */
+  private void reduce(GridSearch search) {
+    int[] walked = new int[search.size()];
+    int noOfChains = 0;
+    int edges = 0;
+
+    for (int id = 0; id < search.size(); id++) {
+      int cave = this.caveIndex[id];
+      if (cave == NONE) {
+        continue;
+      }
+
+      this.edgeStart[cave] = edges;
+      for (int d = 0; d < 4; d++) {
+        int next = search.getNeighbour(id, d);
+        if (next == -1) {
+          continue;
+        }
+
+        // a tunnel is left by the exit other than the one opposite the way it was entered
+        int length = 1;
+        int direction = d;
+        int noOfWalked = 0;
+        while (this.caveIndex[next] == NONE) {
+          walked[noOfWalked++] = next;
+          int back = direction ^ 1;
+          for (direction = 0; direction < 4; direction++) {
+            if (direction != back && search.getNeighbour(next, direction) != -1) {
+              break;
+            }
+          }
+          next = search.getNeighbour(next, direction);
+          length += 1;
+        }
+
+        if (noOfWalked > 0 && this.chain[walked[0]] == NONE) {
+          for (int k = 0; k < noOfWalked; k++) {
+            int tunnel = walked[k];
+            this.chain[tunnel] = noOfChains;
+            this.startCave[tunnel] = cave;
+            this.endCave[tunnel] = this.caveIndex[next];
+            this.toStart[tunnel] = k + 1;
+            this.toEnd[tunnel] = length - k - 1;
+          }
+          noOfChains += 1;
+        }
+
+        this.edgeTo[edges] = this.caveIndex[next];
+        this.edgeWeight[edges] = length;
+        edges += 1;
+      }
+    }
+    this.edgeStart[this.noOfCaves] = edges;
+  }
+
+  /**
+   * Labels every cave by pruned landmark labeling, filling the label offsets and returning the
+   * hubs and distances of all the labels, one after another.
+   */
+  private int[][] label() {
+    int caves = this.noOfCaves;
+
+    Search dijkstra = new Search(caves, this.edgeTo.length);
+    Integer[] byRank = this.rankHubs(dijkstra);
+
+    int[][] hubs = new int[caves][];
+    int[][] distances = new int[caves][];
+    int[] sizes = new int[caves];
+    for (int c = 0; c < caves; c++) {
+      hubs[c] = new int[2];
+      distances[c] = new int[2];
+    }
+
+    int[] hubDistance = new int[caves];
+    Arrays.fill(hubDistance, INFINITY);
+
+    for (int rank = 0; rank < caves; rank++) {
+      int hub = byRank[rank];
+      for (int i = 0; i < sizes[hub]; i++) {
+        hubDistance[hubs[hub][i]] = distances[hub][i];
+      }
+
+      dijkstra.start(hub);
+      for (int cave = dijkstra.next(); cave != NONE; cave = dijkstra.next()) {
+        int d = dijkstra.getDistance(cave);
+
+        long known = INFINITY;
+        for (int i = 0; i < sizes[cave]; i++) {
+          if (hubDistance[hubs[cave][i]] != INFINITY) {
+            known = Math.min(known, (long) hubDistance[hubs[cave][i]] + distances[cave][i]);
+          }
+        }
+        if (known <= d) {
+          continue;
+        }
+
+        if (sizes[cave] == hubs[cave].length) {
+          hubs[cave] = Arrays.copyOf(hubs[cave], 2 * sizes[cave]);
+          distances[cave] = Arrays.copyOf(distances[cave], 2 * sizes[cave]);
+        }
+        hubs[cave][sizes[cave]] = rank;
+        distances[cave][sizes[cave]] = d;
+        sizes[cave] += 1;
+        dijkstra.relax(this, cave);
+      }
+
+      for (int i = 0; i < sizes[hub]; i++) {
+        hubDistance[hubs[hub][i]] = INFINITY;
+      }
+    }
+
+    int total = 0;
+    for (int c = 0; c < caves; c++) {
+      this.labelStart[c] = total;
+      total += sizes[c];
+    }
+    this.labelStart[caves] = total;
+
+    int[] allHubs = new int[total];
+    int[] allDistances = new int[total];
+    for (int c = 0; c < caves; c++) {
+      System.arraycopy(hubs[c], 0, allHubs, this.labelStart[c], sizes[c]);
+      System.arraycopy(distances[c], 0, allDistances, this.labelStart[c], sizes[c]);
+    }
+    return new int[][] {allHubs, allDistances};
+  }
+
+  /**
+   * Ranks the caves by how many shortest paths go through them, estimated by the number of caves
+   * below them in the shortest-path trees of a few caves spread over the dungeon. Caves many
+   * paths go through make the best hubs, as they leave the fewest caves for later searches to
+   * label.
+   */
+  private Integer[] rankHubs(Search dijkstra) {
+    int caves = this.noOfCaves;
+    int samples = Math.min(RANKING_SAMPLES, caves);
+    long[] through = new long[caves];
+    int[] settled = new int[caves];
+    int[] below = new int[caves];
+
+    for (int sample = 0; sample < samples; sample++) {
+      int count = 0;
+      dijkstra.start((int) ((long) sample * caves / samples));
+      for (int cave = dijkstra.next(); cave != NONE; cave = dijkstra.next()) {
+        settled[count++] = cave;
+        below[cave] = 1;
+        dijkstra.relax(this, cave);
+      }
+
+      // every cave is settled after its parent, so subtrees add up in reverse order
+      for (int i = count - 1; i > 0; i--) {
+        int cave = settled[i];
+        below[dijkstra.getParent(cave)] += below[cave];
+        through[cave] += below[cave];
+      }
+      through[settled[0]] += below[settled[0]];
+    }
+
+    Integer[] byRank = new Integer[caves];
+    for (int c = 0; c < caves; c++) {
+      byRank[c] = c;
+    }
+    Arrays.sort(byRank, (a, b) -> Long.compare(through[b], through[a]));
+    return byRank;
+  }
+
+  /**
+   * This class represents a reusable Dijkstra search over the reduced graph of caves, where a
+   * search only goes on from the caves it is told to relax.
+   */
+  private static class Search {
+    private final int[] distance;
+    private final int[] parent;
+    private final int[] stamp;
+    private final long[] heap;
+    private int heapSize;
+    private int generation;
+
+    Search(int caves, int edges) {
+      this.distance = new int[caves];
+      this.parent = new int[caves];
+      this.stamp = new int[caves];
+      // a cave is pushed again only when its distance drops, at most once per edge into it
+      this.heap = new long[edges + 1];
+    }
+
+    void start(int source) {
+      this.generation += 1;
+      this.heapSize = 0;
+      this.stamp[source] = this.generation;
+      this.distance[source] = 0;
+      this.parent[source] = NONE;
+      this.push(0, source);
+    }
+
+    /**
+     * Retrieves the nearest cave not retrieved yet, whose distance is then final.
+     */
+    int next() {
+      while (this.heapSize > 0) {
+        long top = this.pop();
+        int cave = (int) top;
+        if ((int) (top >>> 32) == this.distance[cave]) {
+          // a cave is settled once, later entries for it are stale
+          this.distance[cave] = ~this.distance[cave];
+          return cave;
+        }
+      }
+      return NONE;
+    }
+
+    int getDistance(int cave) {
+      return this.distance[cave] < 0 ? ~this.distance[cave] : this.distance[cave];
+    }
+
+    int getParent(int cave) {
+      return this.parent[cave];
+    }
+
+    void relax(CaveDistanceOracle oracle, int cave) {
+      int d = this.getDistance(cave);
+      for (int e = oracle.edgeStart[cave]; e < oracle.edgeStart[cave + 1]; e++) {
+        int next = oracle.edgeTo[e];
+        int nextDistance = d + oracle.edgeWeight[e];
+
+        if (this.stamp[next] != this.generation || nextDistance < this.distance[next]) {
+          this.stamp[next] = this.generation;
+          this.distance[next] = nextDistance;
+          this.parent[next] = cave;
+          this.push(nextDistance, next);
+        }
+      }
+    }
+
+    private void push(int priority, int cave) {
+      long entry = (long) priority << 32 | cave;
+      int i = this.heapSize++;
+
+      while (i > 0 && this.heap[(i - 1) / 2] > entry) {
+        this.heap[i] = this.heap[(i - 1) / 2];
+        i = (i - 1) / 2;
+      }
+      this.heap[i] = entry;
+    }
+
+    private long pop() {
+      long top = this.heap[0];
+      long last = this.heap[--this.heapSize];
+      int i = 0;
+
+      while (2 * i + 1 < this.heapSize) {
+        int child = 2 * i + 1;
+        if (child + 1 < this.heapSize && this.heap[child + 1] < this.heap[child]) {
+          child += 1;
+        }
+        if (this.heap[child] >= last) {
+          break;
+        }
+        this.heap[i] = this.heap[child];
+        i = child;
+      }
+      this.heap[i] = last;
+      return top;
+    }
+  }
+
+  /**
+   * This class represents the tabulation of the distances from a range of caves, split in
+   * halves until few enough caves are left for one worker.
+   */
+  private static class TabulateTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final CaveDistanceOracle oracle;
+    private final int from;
+    private final int to;
+
+    TabulateTask(CaveDistanceOracle oracle, int from, int to) {
+      this.oracle = oracle;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from > SOURCES_PER_TASK) {
+        int mid = (this.from + this.to) >>> 1;
+        invokeAll(new TabulateTask(this.oracle, this.from, mid),
+                new TabulateTask(this.oracle, mid, this.to));
+        return;
+      }
+
+      int caves = this.oracle.noOfCaves;
+      Search dijkstra = new Search(caves, this.oracle.edgeTo.length);
+      for (int source = this.from; source < this.to; source++) {
+        int row = source * caves;
+        Arrays.fill(this.oracle.table, row, row + caves, (char) MAX_TABLE_DISTANCE);
+
+        dijkstra.start(source);
+        for (int cave = dijkstra.next(); cave != NONE; cave = dijkstra.next()) {
+          this.oracle.table[row + cave] = (char) dijkstra.getDistance(cave);
+          dijkstra.relax(this.oracle, cave);
+        }
+      }
+    }
+  }
+}
@@ -14,9 +14,15 @@ import utils.Tuple;
 /**
  * The Cell class represents a Location in the dungeon.
  */
-public class Cell implements Location {
+public class Cell extends MutableLocation {
+  private static final int NO_NEIGHBOUR = -1;
+
   private final Tuple<Integer, Integer> coordinate;
-  private final Map<Direction, String> possibleDirections;
+  private final int id;
+  private final int columns;
+  private final int directionMask;
+  private final int[] neighbourIds;
+  private final boolean cave;
   private final List<Item> content;
   private final List<Monster> occupant;
   private Smell smell;
@@ -24,17 +30,23 @@ public class Cell implements Location {
 
   /**
    * Constructs a cell location with the given coordinates and possible directions.
+   * The neighbours are looked up once here, as ids in a grid of the given number of columns.
    *
    * @param x                  The x-coordinate on the 2D grid
    * @param y                  The y-coordinate on the 2D grid
-   * @param possibleDirections The directions that lead away from the current cell location
+   * @param possibleDirections The directions that lead away from the current cell location,
+   *                           mapped to the "x y" coordinates of the neighbor they lead to
+   * @param columns            The number of columns in the 2D grid
    * @throws IllegalArgumentException if the cell indices are negative or possible directions are invalid
    */
-  public Cell(int x, int y, HashMap<Direction, String> possibleDirections)
+  public Cell(int x, int y, HashMap<Direction, String> possibleDirections, int columns)
           throws IllegalArgumentException {
     if (x < 0 || y < 0) {
       throw new IllegalArgumentException("Cell indices cannot be negative!");
     }
+    if (y >= columns) {
+      throw new IllegalArgumentException("Cell indices should be inside the grid!");
+    }
     if (!(possibleDirections.containsKey(Direction.NORTH)
             || possibleDirections.containsKey(Direction.SOUTH)
             || possibleDirections.containsKey(Direction.EAST)
@@ -42,17 +54,31 @@ public class Cell implements Location {
       throw new IllegalArgumentException("Possible cell directions should be valid!");
     }
     this.coordinate = new Tuple<>(x, y);
-    this.possibleDirections = possibleDirections;
+    this.id = x * columns + y;
+    this.columns = columns;
+    this.neighbourIds = new int[]{NO_NEIGHBOUR, NO_NEIGHBOUR, NO_NEIGHBOUR, NO_NEIGHBOUR};
+
+    int mask = 0;
+    for (Map.Entry<Direction, String> path : possibleDirections.entrySet()) {
+      String[] xy = path.getValue().split(" ");
+      mask |= 1 << path.getKey().ordinal();
+      this.neighbourIds[path.getKey().ordinal()] = Integer.parseInt(xy[0]) * columns
+              + Integer.parseInt(xy[1]);
+    }
+    this.directionMask = mask;
+    this.cave = Integer.bitCount(mask) != 2;
     this.content = new ArrayList<>();
     this.occupant = new ArrayList<>();
     this.smell = Smell.NONE;
     this.visited = false;
   }
 
+  @Override
   void fill(Item item) {
     this.content.add(item);
   }
 
+  @Override
   void pop(Item item) {
     this.content.remove(item);
   }
@@ -64,10 +90,12 @@ public class Cell implements Location {
     this.occupant.add(oytugh);
   }
 
+  @Override
   void updateSmell(Smell smell) {
     this.smell = smell;
   }
 
+  @Override
   void markVisited() {
     this.visited = true;
   }
@@ -79,21 +107,40 @@ public class Cell implements Location {
 
   @Override
   public Set<Direction> getPossibleDirections() {
-    return new HashSet<>(this.possibleDirections.keySet());
+    Set<Direction> directions = new HashSet<>();
+    for (Direction d : Direction.values()) {
+      if ((this.directionMask & (1 << d.ordinal())) != 0) {
+        directions.add(d);
+      }
+    }
+    return directions;
   }
 
   @Override
   public int[] getNeighbour(Direction d) {
+    int neighbourId = this.getNeighbourId(d);
+    return new int[]{neighbourId / this.columns, neighbourId % this.columns};
+  }
+
+  @Override
+  public int getId() {
+    return this.id;
+  }
+
+  @Override
+  public int getDirectionMask() {
+    return this.directionMask;
+  }
+
+  @Override
+  public int getNeighbourId(Direction d) throws IllegalArgumentException {
     if (d == null) {
       throw new IllegalArgumentException("Given neighbor direction is null!");
+    } else if (this.neighbourIds[d.ordinal()] == NO_NEIGHBOUR) {
+      throw new IllegalArgumentException("No neighbor in the given direction!");
     }
 
-    int[] neighbourCoordinate = new int[2];
-    String[] xy = this.possibleDirections.get(d).split(" ");
-    neighbourCoordinate[0] = Integer.parseInt(xy[0]);
-    neighbourCoordinate[1] = Integer.parseInt(xy[1]);
-
-    return neighbourCoordinate;
+    return this.neighbourIds[d.ordinal()];
   }
 
   @Override
@@ -122,7 +169,7 @@ public class Cell implements Location {
 
   @Override
   public boolean isCave() {
-    return this.possibleDirections.keySet().size() != 2;
+    return this.cave;
   }
 
   @Override
@@ -145,12 +192,12 @@ public class Cell implements Location {
     return Arrays.equals(this.getCoordinates(), that.getCoordinates())
             && this.isCave() == that.isCave()
             && this.getContent().equals(that.getContent())
-            && this.getPossibleDirections().equals(that.getPossibleDirections());
+            && this.directionMask == that.directionMask;
   }
 
   @Override
   public int hashCode() {
     return Objects.hash(this.isCave(), Arrays.hashCode(this.getCoordinates()),
-            this.possibleDirections);
+            this.directionMask);
   }
 }
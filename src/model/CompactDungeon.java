@@ -0,0 +1,427 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This class represents a dungeon in the adventure game stored as flat primitive arrays
+ * indexed by location id (row * columns + column), meant for very large dungeons.
+ *
+ * <p>Every location takes one byte of state, holding its direction mask, visited flag and smell,
+ * and one long of item counts. Monsters are kept in a side table that only has entries for the
+ * caves they dwell in. Locations handed out by this dungeon are lightweight views that are
+ * created on demand and read and write these arrays.
+ *
+ * <p>For the same arguments and seed, this dungeon has the same layout, start, end, items and
+ * monsters as a {@link Dungeon}.
+ */
+public class CompactDungeon implements IDungeon {
+  private static final int MASK_BITS = 0x0F;
+  private static final int VISITED_BIT = 0x10;
+  private static final int SMELL_SHIFT = 5;
+  private static final int SMELL_BITS = 0x60;
+
+  private static final int ITEM_SLOT_BITS = 16;
+  private static final int ITEM_SLOT_MAX = 0xFFFF;
+  private static final int ARROW_SLOT = 3;
+  private static final Item[] SLOT_ITEMS = new Item[]{Treasure.DIAMOND, Treasure.RUBY,
+      Treasure.SAPPHIRE, Weapon.ARROW};
+
+  private final Random rand;
+
+  private final int rows;
+  private final int cols;
+  private final boolean wrapping;
+  private final byte[] state;
+  private final long[] items;
+  private final Map<Integer, Otyugh> monsters;
+  private final int noOfCaves;
+
+  private final int start;
+  private final int end;
+
+  private final int MIN_DIST;
+
+  /**
+   * Constructs a compact game dungeon with the given arguments, carving its paths with the
+   * classic engine.
+   *
+   * @param rows              the number of rows in the game dungeon
+   * @param columns           the number of columns in the game dungeon
+   * @param wrapping          if the game dungeon needs to be wrapping, true if yes, false otherwise
+   * @param interconnectivity the degree of interconnectivity required for the dungeon
+   * @param treasurePct       the percentage of caves to be filled with treasure, between 0 and 100
+   * @param noOfMonsters      the number of monsters to be added to the dungeon
+   * @param rand              the Random object, can be truly random or deterministic
+   * @throws IllegalArgumentException if rows or columns are less than or equal to 0,
+   *                                  or the interconnectivity is less than 0,
+   *                                  or the percentage of treasure caves is not between 0 and 100
+   * @throws IllegalStateException    if dungeon build is not successful using the given arguments
+   */
+  public CompactDungeon(int rows, int columns, boolean wrapping, int interconnectivity,
+                        double treasurePct, int noOfMonsters, Random rand)
+          throws IllegalArgumentException, IllegalStateException {
+    this(rows, columns, wrapping, interconnectivity, treasurePct, noOfMonsters, rand,
+            MazeEngine.CLASSIC);
+  }
+
+  /**
+   * Constructs a compact game dungeon with the given arguments, carving its paths with the
+   * given engine.
+   *
+   * @param rows              the number of rows in the game dungeon
+   * @param columns           the number of columns in the game dungeon
+   * @param wrapping          if the game dungeon needs to be wrapping, true if yes, false otherwise
+   * @param interconnectivity the degree of interconnectivity required for the dungeon
+   * @param treasurePct       the percentage of caves to be filled with treasure, between 0 and 100
+   * @param noOfMonsters      the number of monsters to be added to the dungeon
+   * @param rand              the Random object, can be truly random or deterministic
+   * @param engine            the engine used for carving paths between the dungeon locations
+   * @throws IllegalArgumentException if rows or columns are less than or equal to 0,
+   *                                  or the interconnectivity is less than 0,
+   *                                  or the percentage of treasure caves is not between 0 and 100,
+   *                                  or the engine is null
+   * @throws IllegalStateException    if dungeon build is not successful using the given arguments
+   */
+  public CompactDungeon(int rows, int columns, boolean wrapping, int interconnectivity,
+                        double treasurePct, int noOfMonsters, Random rand, MazeEngine engine)
+          throws IllegalArgumentException, IllegalStateException {
+    if (rows <= 0) {
+      throw new IllegalArgumentException("The number of rows should be positive!");
+    } else if (columns <= 0) {
+      throw new IllegalArgumentException("The number of columns should be positive!");
+    } else if (interconnectivity < 0) {
+      throw new IllegalArgumentException("Interconnectivity cannot be less than zero!");
+    } else if (treasurePct < 0 || treasurePct > 100) {
+      throw new IllegalArgumentException("The percentage of treasure caves should be between 0 and 100!");
+    } else if (noOfMonsters < 1) {
+      throw new IllegalArgumentException("There should be at least one monster at the end!");
+    } else if (engine == null) {
+      throw new IllegalArgumentException("The maze engine cannot be null!");
+    }
+
+    this.rand = rand;
+
+    DungeonBuilder builder = new DungeonBuilder(rows, columns, wrapping, interconnectivity, rand,
+            engine);
+    this.state = builder.buildDirectionMasks();
+
+    this.rows = rows;
+    this.cols = columns;
+    this.wrapping = builder.isWrapping();
+    this.items = new long[rows * columns];
+    this.monsters = new HashMap<>();
+
+    int caves = 0;
+    for (int id = 0; id < this.state.length; id++) {
+      if (this.isCave(id)) {
+        caves += 1;
+      }
+    }
+    this.noOfCaves = caves;
+
+    this.MIN_DIST = 5;
+
+    long endpoints = this.getStartAndEnd();
+
+    if (endpoints < 0) {
+      throw new IllegalStateException("Couldn't find start and end caves at a distance of 5 "
+              + "for the dungeon of this size and interconnectivity! Try rebuilding the dungeon or"
+              + " increasing its size or decreasing interconnectivity.");
+    }
+    this.start = (int) (endpoints >>> 32);
+    this.end = (int) endpoints;
+
+    this.addTreasure(treasurePct);
+    this.addArrows(treasurePct);
+    this.addMonsters(noOfMonsters);
+  }
+
+  private long getStartAndEnd() {
+    int[] caves = this.getAllCaves();
+    int noOfCaves = caves.length;
+
+    GridSearch search = new GridSearch(this.rows, this.cols, this.getDirectionMasks());
+    int[] distances = new int[search.size()];
+
+    while (noOfCaves != 0) {
+      int caveIndex = this.rand.nextInt(noOfCaves);
+      int startCave = caves[caveIndex];
+      int startX = startCave / this.cols;
+      int startY = startCave % this.cols;
+
+      search.distancesFrom(startCave, distances);
+
+      for (int i = 0; i < noOfCaves; i++) {
+        int endCave = caves[i];
+
+        if (startX != endCave / this.cols && startY != endCave % this.cols
+                && distances[endCave] >= this.MIN_DIST) {
+          return (long) startCave << 32 | endCave;
+        }
+      }
+
+      System.arraycopy(caves, caveIndex + 1, caves, caveIndex, noOfCaves - caveIndex - 1);
+      noOfCaves -= 1;
+    }
+
+    return -1;
+  }
+
+  private void addTreasure(double percent) {
+    int[] caves = this.getAllCaves();
+
+    int noOfTreasureCaves = (int) Math.ceil((percent / 100.0) * this.getNoOfCaves());
+
+    while (noOfTreasureCaves > 0) {
+      int caveIndex = this.rand.nextInt(caves.length);
+      int treasureIndex = this.rand.nextInt(ARROW_SLOT);
+
+      if (this.items[caves[caveIndex]] == 0) {
+        noOfTreasureCaves -= 1;
+      }
+
+      this.addItems(caves[caveIndex], treasureIndex, 1);
+    }
+  }
+
+  private void addMonsters(int noOfMonsters) {
+    int[] caves = this.getAllCaves();
+    IndexTree remaining = new IndexTree(caves.length);
+
+    remaining.remove(indexOf(caves, this.start));
+
+    if (noOfMonsters > remaining.size()) {
+      noOfMonsters = remaining.size() - 1;
+    }
+
+    this.monsters.put(this.end, new Otyugh(this.getLocation(this.end)));
+    remaining.remove(indexOf(caves, this.end));
+    noOfMonsters -= 1;
+
+    while (noOfMonsters > 0) {
+      int caveIndex = remaining.get(this.rand.nextInt(remaining.size()));
+
+      this.monsters.put(caves[caveIndex], new Otyugh(this.getLocation(caves[caveIndex])));
+
+      remaining.remove(caveIndex);
+
+      noOfMonsters -= 1;
+    }
+  }
+
+  private void addArrows(double percent) {
+    int noOfArrowLocations = (int) Math.ceil((percent / 100.0)
+            * (this.getNoOfCaves() + this.getNoOfTunnels()));
+
+    while (noOfArrowLocations > 0) {
+      int locationX = this.rand.nextInt(this.rows);
+      int locationY = this.rand.nextInt(this.cols);
+
+      int id = locationX * this.cols + locationY;
+      if (id != this.end || this.getItemCount(id, ARROW_SLOT) == 0) {
+        int noOfArrows = this.rand.nextInt(3) + 1;
+
+        if (this.getItemCount(id, ARROW_SLOT) == 0) {
+          noOfArrowLocations -= 1;
+        }
+
+        this.addItems(id, ARROW_SLOT, noOfArrows);
+      }
+    }
+  }
+
+  private int[] getAllCaves() {
+    int[] caves = new int[this.noOfCaves];
+
+    int count = 0;
+    for (int id = 0; id < this.state.length; id++) {
+      if (this.isCave(id)) {
+        caves[count] = id;
+        count += 1;
+      }
+    }
+
+    return caves;
+  }
+
+  private static int indexOf(int[] ids, int id) {
+    for (int i = 0; i < ids.length; i++) {
+      if (ids[i] == id) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public Location getStart() {
+    return this.getLocation(this.start);
+  }
+
+  @Override
+  public Location getEnd() {
+    return this.getLocation(this.end);
+  }
+
+  @Override
+  public Location getLocation(int x, int y) {
+    if (x < 0 || x >= this.rows) {
+      throw new IllegalArgumentException("x out of bounds for getting location!");
+    }
+    if (y < 0 || y >= this.cols) {
+      throw new IllegalArgumentException("y out of bounds for getting location!");
+    }
+    return this.getLocation(x * this.cols + y);
+  }
+
+  @Override
+  public int getNoOfCaves() {
+    return this.noOfCaves;
+  }
+
+  @Override
+  public int getNoOfTunnels() {
+    return this.rows * this.cols - this.noOfCaves;
+  }
+
+  @Override
+  public Location[][] getDungeonGrid() {
+    Location[][] grid = new Location[this.rows][this.cols];
+
+    for (int row = 0; row < this.rows; row += 1) {
+      for (int col = 0; col < this.cols; col += 1) {
+        grid[row][col] = this.getLocation(row * this.cols + col);
+      }
+    }
+    return grid;
+  }
+
+  @Override
+  public boolean isWrapping() {
+    return this.wrapping;
+  }
+
+  /**
+   * Retrieves the number of rows in the dungeon.
+   *
+   * @return the number of rows
+   */
+  int getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Retrieves the number of columns in the dungeon.
+   *
+   * @return the number of columns
+   */
+  int getColumns() {
+    return this.cols;
+  }
+
+  /**
+   * Retrieves a copy of the direction masks of all the locations, indexed by location id.
+   *
+   * @return the direction masks
+   */
+  byte[] getDirectionMasks() {
+    byte[] masks = new byte[this.state.length];
+    for (int id = 0; id < this.state.length; id++) {
+      masks[id] = (byte) (this.state[id] & MASK_BITS);
+    }
+    return masks;
+  }
+
+  private Location getLocation(int id) {
+    return new CompactLocation(this, id);
+  }
+
+  int getDirectionMask(int id) {
+    return this.state[id] & MASK_BITS;
+  }
+
+  int getNeighbourId(int id, Direction d) {
+    int row = id / this.cols;
+    int col = id % this.cols;
+
+    if (d == Direction.NORTH) {
+      return ((row + this.rows - 1) % this.rows) * this.cols + col;
+    } else if (d == Direction.SOUTH) {
+      return ((row + 1) % this.rows) * this.cols + col;
+    } else if (d == Direction.EAST) {
+      return row * this.cols + (col + 1) % this.cols;
+    }
+    return row * this.cols + (col + this.cols - 1) % this.cols;
+  }
+
+  boolean isCave(int id) {
+    return Integer.bitCount(this.getDirectionMask(id)) != 2;
+  }
+
+  boolean isVisited(int id) {
+    return (this.state[id] & VISITED_BIT) != 0;
+  }
+
+  void markVisited(int id) {
+    this.state[id] |= VISITED_BIT;
+  }
+
+  Smell getSmell(int id) {
+    return Smell.values()[(this.state[id] & SMELL_BITS) >>> SMELL_SHIFT];
+  }
+
+  void updateSmell(int id, Smell smell) {
+    this.state[id] = (byte) ((this.state[id] & ~SMELL_BITS) | smell.ordinal() << SMELL_SHIFT);
+  }
+
+  Otyugh getMonster(int id) {
+    return this.monsters.get(id);
+  }
+
+  /**
+   * Retrieves the number of items of every kind at a location, in the order diamonds, rubies,
+   * sapphires and arrows.
+   *
+   * @param id the location id
+   * @return the item counts packed 16 bits per kind, the lowest bits holding diamonds
+   */
+  long getItemCounts(int id) {
+    return this.items[id];
+  }
+
+  static Item getSlotItem(int slot) {
+    return SLOT_ITEMS[slot];
+  }
+
+  static int getItemSlot(Item item) throws IllegalArgumentException {
+    if (item instanceof Treasure) {
+      return ((Treasure) item).ordinal();
+    } else if (item == Weapon.ARROW) {
+      return ARROW_SLOT;
+    }
+    throw new IllegalArgumentException("Item cannot be stored in the dungeon!");
+  }
+
+  static int getItemCount(long counts, int slot) {
+    return (int) (counts >>> (slot * ITEM_SLOT_BITS)) & ITEM_SLOT_MAX;
+  }
+
+  int getItemCount(int id, int slot) {
+    return getItemCount(this.items[id], slot);
+  }
+
+  void addItems(int id, int slot, int count) throws IllegalStateException {
+    if (this.getItemCount(id, slot) + count > ITEM_SLOT_MAX) {
+      throw new IllegalStateException("Too many items of the same kind at a location!");
+    }
+    this.items[id] += (long) count << (slot * ITEM_SLOT_BITS);
+  }
+
+  void removeItem(int id, int slot) {
+    if (this.getItemCount(id, slot) > 0) {
+      this.items[id] -= 1L << (slot * ITEM_SLOT_BITS);
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class represents a Location of a {@link CompactDungeon}. It holds no state of its own,
+ * only the dungeon and the location id, and reads and writes the arrays of the dungeon.
+ * Two views are equal if they are of the same location of the same dungeon.
+ */
+class CompactLocation extends MutableLocation {
+  private final CompactDungeon dungeon;
+  private final int id;
+
+  /**
+   * Constructs a view of the location with the given id.
+   *
+   * @param dungeon the dungeon the location belongs to
+   * @param id      the location id
+   */
+  CompactLocation(CompactDungeon dungeon, int id) {
+    this.dungeon = dungeon;
+    this.id = id;
+  }
+
+  @Override
+  void fill(Item item) {
+    this.dungeon.addItems(this.id, CompactDungeon.getItemSlot(item), 1);
+  }
+
+  @Override
+  void pop(Item item) {
+    this.dungeon.removeItem(this.id, CompactDungeon.getItemSlot(item));
+  }
+
+  @Override
+  void updateSmell(Smell smell) {
+    this.dungeon.updateSmell(this.id, smell);
+  }
+
+  @Override
+  void markVisited() {
+    this.dungeon.markVisited(this.id);
+  }
+
+  @Override
+  public int[] getCoordinates() {
+    return new int[]{this.id / this.dungeon.getColumns(), this.id % this.dungeon.getColumns()};
+  }
+
+  @Override
+  public Set<Direction> getPossibleDirections() {
+    Set<Direction> directions = new HashSet<>();
+    int mask = this.dungeon.getDirectionMask(this.id);
+
+    for (Direction d : Direction.values()) {
+      if ((mask & (1 << d.ordinal())) != 0) {
+        directions.add(d);
+      }
+    }
+    return directions;
+  }
+
+  @Override
+  public int[] getNeighbour(Direction d) {
+    int neighbourId = this.getNeighbourId(d);
+    return new int[]{neighbourId / this.dungeon.getColumns(),
+        neighbourId % this.dungeon.getColumns()};
+  }
+
+  @Override
+  public int getId() {
+    return this.id;
+  }
+
+  @Override
+  public int getDirectionMask() {
+    return this.dungeon.getDirectionMask(this.id);
+  }
+
+  @Override
+  public int getNeighbourId(Direction d) throws IllegalArgumentException {
+    if (d == null) {
+      throw new IllegalArgumentException("Given neighbor direction is null!");
+    } else if ((this.dungeon.getDirectionMask(this.id) & (1 << d.ordinal())) == 0) {
+      throw new IllegalArgumentException("No neighbor in the given direction!");
+    }
+
+    return this.dungeon.getNeighbourId(this.id, d);
+  }
+
+  @Override
+  public List<Item> getContent() {
+    long counts = this.dungeon.getItemCounts(this.id);
+    List<Item> content = new ArrayList<>();
+
+    for (int slot = 0; counts != 0 && slot < 4; slot++) {
+      Item item = CompactDungeon.getSlotItem(slot);
+      for (int i = CompactDungeon.getItemCount(counts, slot); i > 0; i--) {
+        content.add(item);
+      }
+    }
+    return content;
+  }
+
+  @Override
+  public boolean hasMonster() {
+    return this.dungeon.getMonster(this.id) != null;
+  }
+
+  @Override
+  public Monster getMonster() throws IllegalStateException {
+    if (!this.hasMonster()) {
+      throw new IllegalStateException("No monster present!");
+    }
+
+    return this.dungeon.getMonster(this.id);
+  }
+
+  @Override
+  public Smell getSmell() {
+    return this.dungeon.getSmell(this.id);
+  }
+
+  @Override
+  public boolean isCave() {
+    return this.dungeon.isCave(this.id);
+  }
+
+  @Override
+  public boolean isVisited() {
+    return this.dungeon.isVisited(this.id);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof CompactLocation)) {
+      return false;
+    }
+
+    CompactLocation that = (CompactLocation) o;
+
+    return this.dungeon == that.dungeon && this.id == that.id;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * System.identityHashCode(this.dungeon) + this.id;
+  }
+}
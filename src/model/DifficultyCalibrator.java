@@ -0,0 +1,169 @@
+package model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * The DifficultyCalibrator class estimates the chance of winning games of many dungeon
+ * configurations by simulated play, e.g., to find the number of monsters for difficulty presets.
+ * Each configuration is played in batches of games until the 95% confidence interval of its
+ * chance of winning is narrow enough, or a maximum number of games is reached.
+ *
+ * <p>Games given up at the turn limit count as lost. The estimates hold for the policy the
+ * games are played with, which stands in for how well players play.
+ */
+public class DifficultyCalibrator {
+  private static final int BATCH_SIZE = 256;
+
+  private DifficultyCalibrator() {
+    // static utility, not meant to be instantiated
+  }
+
+  /**
+   * Lists all the combinations of the given dungeon parameters.
+   *
+   * @param rows               the numbers of rows to sweep
+   * @param columns            the numbers of columns to sweep, each paired with every number
+   *                           of rows
+   * @param wrapping           if the dungeons are wrapping
+   * @param interconnectivities the degrees of interconnectivity to sweep
+   * @param treasurePcts       the treasure percentages to sweep
+   * @param difficulties       the numbers of monsters to sweep
+   * @return the parameters of every combination
+   * @throws IllegalArgumentException if any of the values to sweep are null
+   */
+  public static List<DungeonParameters> sweep(int[] rows, int[] columns, boolean wrapping,
+                                              int[] interconnectivities, double[] treasurePcts,
+                                              int[] difficulties)
+          throws IllegalArgumentException {
+    if (rows == null || columns == null || interconnectivities == null
+            || treasurePcts == null || difficulties == null) {
+      throw new IllegalArgumentException("Values to sweep cannot be null!");
+    }
+
+    List<DungeonParameters> configs = new ArrayList<>();
+    for (int r : rows) {
+      for (int c : columns) {
+        for (int ic : interconnectivities) {
+          for (double pct : treasurePcts) {
+            for (int difficulty : difficulties) {
+              configs.add(new DungeonParameters(r, c, wrapping, ic, pct, difficulty,
+                      MazeEngine.UNION_FIND));
+            }
+          }
+        }
+      }
+    }
+    return configs;
+  }
+
+  /**
+   * Estimates the chance of winning games of each given dungeon configuration. Configurations
+   * that no dungeon can be built for are left out; dungeons with more monsters than caves get a
+   * monster in every cave but the start, so such difficulties estimate the same chance.
+   *
+   * @param configs    the dungeon configurations
+   * @param policies   the supplier of the policy playing each game
+   * @param maxTurns   the number of turns after which a game that is not over is lost
+   * @param halfWidth  the half width of the confidence interval at which a configuration stops
+   * @param maxGames   the number of games after which a configuration stops in any case
+   * @param masterSeed the seed all the games are derived from
+   * @return the table of the estimates, in the order of the configurations
+   * @throws IllegalArgumentException if the configurations or policies are null, or the turn
+   *                                  limit, half width or maximum number of games is not
+   *                                  positive
+   */
+  public static CalibrationTable calibrate(List<DungeonParameters> configs,
+                                           Supplier<? extends PlayerPolicy> policies,
+                                           int maxTurns, double halfWidth, int maxGames,
+                                           long masterSeed) throws IllegalArgumentException {
+    if (configs == null) {
+      throw new IllegalArgumentException("Dungeon configurations cannot be null!");
+    } else if (policies == null) {
+      throw new IllegalArgumentException("Player policies cannot be null!");
+    } else if (maxTurns <= 0) {
+      throw new IllegalArgumentException("Turn limit should be positive!");
+    } else if (halfWidth <= 0) {
+      throw new IllegalArgumentException("Confidence interval width should be positive!");
+    } else if (maxGames <= 0) {
+      throw new IllegalArgumentException("Maximum number of games should be positive!");
+    }
+
+    SplittableRandom master = new SplittableRandom(masterSeed);
+    List<CalibrationEntry> entries = new ArrayList<>();
+
+    for (DungeonParameters params : configs) {
+      SplittableRandom seeds = master.split();
+      long games = 0;
+      long wins = 0;
+
+      if (!isValid(params, masterSeed)) {
+        continue;
+      }
+
+      // batches are played in parallel, the interval is checked between batches
+      while (games < maxGames
+              && (games == 0 || CalibrationEntry.halfWidth(games, wins) > halfWidth)) {
+        long[] batch = new long[(int) Math.min(BATCH_SIZE, maxGames - games)];
+        for (int i = 0; i < batch.length; i++) {
+          batch[i] = seeds.nextLong();
+        }
+
+        SimulationStats stats = GameSimulator.simulate(params, batch, policies, maxTurns);
+        games += stats.getGames() - stats.getFailedBuilds();
+        wins += stats.getWins();
+
+        if (stats.getFailedBuilds() == stats.getGames()) {
+          break;
+        }
+      }
+
+      if (games > 0) {
+        entries.add(new CalibrationEntry(params.getRows(), params.getColumns(),
+                params.isWrapping(), params.getInterconnectivity(), params.getTreasurePct(),
+                params.getNoOfMonsters(), games, wins));
+      }
+    }
+
+    return new CalibrationTable(entries);
+  }
+
+  private static boolean isValid(DungeonParameters params, long seed) {
+    // the parameters a dungeon cannot have fail the same for any seed, unlike unlucky layouts
+    try {
+      params.buildCompact(new Random(seed));
+      return true;
+    } catch (IllegalArgumentException iae) {
+      return false;
+    } catch (IllegalStateException ise) {
+      // no start and end caves far enough apart for this seed, the games count such layouts
+      return true;
+    }
+  }
+
+  /**
+   * Calibrates the default sweep of dungeon configurations played by a
+   * {@link RandomWalkPolicy} and prints the table, e.g., to be saved as the table of the
+   * difficulty presets.
+   *
+   * @param args not used
+   * @throws IOException if the table cannot be printed
+   */
+  public static void main(String[] args) throws IOException {
+    List<DungeonParameters> configs = new ArrayList<>();
+    for (boolean wrapping : new boolean[] {false, true}) {
+      for (int size : new int[] {5, 8, 10, 15, 20}) {
+        configs.addAll(sweep(new int[] {size}, new int[] {size}, wrapping,
+                new int[] {0, 2, 5}, new double[] {50},
+                new int[] {1, 2, 3, 4, 6, 8, 10, 12, 15, 20, 25, 30}));
+      }
+    }
+
+    CalibrationTable table = calibrate(configs, RandomWalkPolicy::new, 50_000, 0.03, 4096, 42);
+    table.write(System.out);
+  }
+}
@@ -0,0 +1,33 @@
+package model;
+
+/**
+ * This enum represents the difficulty presets offered to players, each aiming at the share of
+ * games a player is expected to win, as estimated by simulated play.
+ */
+public enum DifficultyPreset {
+  EASY("Easy", 0.75),
+  MEDIUM("Medium", 0.5),
+  HARD("Hard", 0.25);
+
+  private final String name;
+  private final double targetWinRate;
+
+  DifficultyPreset(String name, double targetWinRate) {
+    this.name = name;
+    this.targetWinRate = targetWinRate;
+  }
+
+  /**
+   * Retrieves the share of games a player is expected to win at this preset.
+   *
+   * @return the target win rate between 0 and 1
+   */
+  public double getTargetWinRate() {
+    return this.targetWinRate;
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+}
@@ -0,0 +1,89 @@
+package model;
+
+/**
+ * This class represents a disjoint-set (union-find) structure over integer ids 0 to n - 1.
+ * It is backed by primitive arrays and uses path compression and union by rank, so that
+ * any sequence of operations runs in nearly constant amortized time per operation.
+ */
+class DisjointSet {
+  private final int[] parent;
+  private final byte[] rank;
+
+  /**
+   * Constructs a disjoint-set where every id is initially in its own set.
+   *
+   * @param size the number of ids in the structure
+   * @throws IllegalArgumentException if the size is negative
+   */
+  DisjointSet(int size) throws IllegalArgumentException {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size of the disjoint-set cannot be negative!");
+    }
+
+    this.parent = new int[size];
+    this.rank = new byte[size];
+
+    for (int i = 0; i < size; i++) {
+      this.parent[i] = i;
+    }
+  }
+
+  /**
+   * Finds the representative id of the set containing the given id.
+   *
+   * @param id the id to look up
+   * @return the representative id of its set
+   */
+  int find(int id) {
+    int root = id;
+    while (this.parent[root] != root) {
+      root = this.parent[root];
+    }
+
+    while (this.parent[id] != root) {
+      int next = this.parent[id];
+      this.parent[id] = root;
+      id = next;
+    }
+
+    return root;
+  }
+
+  /**
+   * Merges the sets containing the two given ids.
+   *
+   * @param a the first id
+   * @param b the second id
+   * @return true if the ids were in different sets and got merged, false if already connected
+   */
+  boolean union(int a, int b) {
+    int rootA = this.find(a);
+    int rootB = this.find(b);
+
+    if (rootA == rootB) {
+      return false;
+    }
+
+    if (this.rank[rootA] < this.rank[rootB]) {
+      this.parent[rootA] = rootB;
+    } else if (this.rank[rootA] > this.rank[rootB]) {
+      this.parent[rootB] = rootA;
+    } else {
+      this.parent[rootB] = rootA;
+      this.rank[rootA] += 1;
+    }
+
+    return true;
+  }
+
+  /**
+   * Checks if the two given ids belong to the same set.
+   *
+   * @param a the first id
+   * @param b the second id
+   * @return true if both ids are in the same set, else false
+   */
+  boolean connected(int a, int b) {
+    return this.find(a) == this.find(b);
+  }
+}
@@ -2,10 +2,7 @@ package model;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
 
@@ -23,6 +20,7 @@ public class Dungeon implements IDungeon {
 
   private final int rows;
   private final int cols;
+  private final boolean wrapping;
 
   private final int MIN_DIST;
 
@@ -44,6 +42,30 @@ public class Dungeon implements IDungeon {
   public Dungeon(int rows, int columns, boolean wrapping, int interconnectivity, double treasurePct,
                  int noOfMonsters, Random rand)
           throws IllegalArgumentException, IllegalStateException {
+    this(rows, columns, wrapping, interconnectivity, treasurePct, noOfMonsters, rand,
+            MazeEngine.CLASSIC);
+  }
+
+  /**
+   * Constructs a game dungeon with the given arguments, carving its paths with the given engine.
+   *
+   * @param rows              the number of rows in the game dungeon
+   * @param columns           the number of columns in the game dungeon
+   * @param wrapping          if the game dungeon needs to be wrapping, true if yes, false otherwise
+   * @param interconnectivity the degree of interconnectivity required for the dungeon
+   * @param treasurePct       the percentage of caves to be filled with treasure, between 0 and 100
+   * @param noOfMonsters      the number of monsters to be added to the dungeon
+   * @param rand              the Random object, can be truly random or deterministic
+   * @param engine            the engine used for carving paths between the dungeon locations
+   * @throws IllegalArgumentException if rows or columns are less than or equal to 0,
+   *                                  or the interconnectivity is less than 0,
+   *                                  or the percentage of treasure caves is not between 0 and 100,
+   *                                  or the engine is null
+   * @throws IllegalStateException    if dungeon build is not successful using the given arguments
+   */
+  public Dungeon(int rows, int columns, boolean wrapping, int interconnectivity, double treasurePct,
+                 int noOfMonsters, Random rand, MazeEngine engine)
+          throws IllegalArgumentException, IllegalStateException {
     if (rows <= 0) {
       throw new IllegalArgumentException("The number of rows should be positive!");
     } else if (columns <= 0) {
@@ -54,15 +76,19 @@ public class Dungeon implements IDungeon {
       throw new IllegalArgumentException("The percentage of treasure caves should be between 0 and 100!");
     } else if (noOfMonsters < 1) {
       throw new IllegalArgumentException("There should be at least one monster at the end!");
+    } else if (engine == null) {
+      throw new IllegalArgumentException("The maze engine cannot be null!");
     }
 
     this.rand = rand;
 
-    DungeonBuilder builder = new DungeonBuilder(rows, columns, wrapping, interconnectivity, rand);
+    DungeonBuilder builder = new DungeonBuilder(rows, columns, wrapping, interconnectivity, rand,
+            engine);
     this.grid = builder.buildDungeon();
 
     this.rows = this.grid.length;
     this.cols = this.grid[0].length;
+    this.wrapping = builder.isWrapping();
 
     this.MIN_DIST = 5;
 
@@ -98,25 +124,25 @@ public class Dungeon implements IDungeon {
     int endX;
     int endY;
 
+    GridSearch search = new GridSearch(this.grid);
+    int[] distances = new int[search.size()];
+
     while (caves.size() != 0) {
       int caveIndex = this.rand.nextInt(caves.size());
       Location startCave = caves.get(caveIndex);
       startX = startCave.getCoordinates()[0];
       startY = startCave.getCoordinates()[1];
 
-      ArrayList<Location> probableEnds = new ArrayList<>(caves);
-      probableEnds.remove(startCave);
+      // one search gives the distance to every possible end cave at once
+      search.distancesFrom(startCave.getId(), distances);
 
-      for (Location endCave : probableEnds) {
-        endX = endCave.getCoordinates()[0];
-        endY = endCave.getCoordinates()[1];
+      for (Location endCave : caves) {
+        endX = search.toRow(endCave.getId());
+        endY = search.toCol(endCave.getId());
 
-        if (this.grid[startX][startY].isCave() && this.grid[endX][endY].isCave()
-                && (startX != endX && startY != endY)) {
-          if (this.minDist(startX, startY, endX, endY) >= this.MIN_DIST) {
-            return new Tuple<>(this.grid[startX][startY], this.grid[endX][endY]);
-
-          }
+        if (startX != endX && startY != endY
+                && distances[endCave.getId()] >= this.MIN_DIST) {
+          return new Tuple<>(this.grid[startX][startY], this.grid[endX][endY]);
         }
       }
       caves.remove(caveIndex);
@@ -125,44 +151,6 @@ public class Dungeon implements IDungeon {
     return new Tuple<>(this.grid[0][0], this.grid[0][0]);
   }
 
-  private int minDist(int startX, int startY, int endX, int endY) {
-    return this.breadthFirstSearch(startX, startY, endX, endY);
-  }
-
-  private int breadthFirstSearch(int startX, int startY, int endX, int endY) {
-    Set<Location> visited = new HashSet<>();
-    Queue<Location> q = new LinkedList<>();
-    Queue<Integer> qHeight = new LinkedList<>();
-
-    q.add(this.grid[startX][startY]);
-    qHeight.add(0);
-
-    while (!q.isEmpty()) {
-      Location cell = q.remove();
-      int height = qHeight.remove();
-
-      if (cell.equals(this.grid[endX][endY])) {
-        return height;
-      }
-
-      visited.add(cell);
-
-      for (Direction d : cell.getPossibleDirections()) {
-        int[] coordinates = cell.getNeighbour(d);
-        int x = coordinates[0];
-        int y = coordinates[1];
-        Location child = this.grid[x][y];
-
-        if (!visited.contains(child)) {
-          q.add(child);
-          qHeight.add(height + 1);
-        }
-      }
-    }
-
-    return 0;
-  }
-
   private void addTreasure(double percent) {
     List<Cell> caves = getAllCaves();
 
@@ -298,14 +286,32 @@ public class Dungeon implements IDungeon {
     return gridCopy;
   }
 
+  @Override
+  public boolean isWrapping() {
+    return this.wrapping;
+  }
+
   String[][] getDungeonLayout() {
-    String[][] layout = new String[this.rows * 3][this.cols * 3];
+    return getDungeonLayout(this);
+  }
+
+  /**
+   * Draws the layout of any game dungeon as text, three rows and columns of text per location.
+   *
+   * @param dungeon the dungeon to draw
+   * @return the text layout, with null where nothing is drawn
+   */
+  static String[][] getDungeonLayout(IDungeon dungeon) {
+    Location[][] grid = dungeon.getDungeonGrid();
+    int rows = grid.length;
+    int cols = grid[0].length;
+    String[][] layout = new String[rows * 3][cols * 3];
 
     int layoutRow = 1;
     int layoutCol = 1;
-    for (int row = 0; row < this.rows; row++) {
-      for (int col = 0; col < this.cols; col++) {
-        Cell cell = (Cell) this.grid[row][col];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        Location cell = grid[row][col];
         Set<Direction> directions = cell.getPossibleDirections();
 
         if (cell.isCave()) {
@@ -341,10 +347,10 @@ public class Dungeon implements IDungeon {
       layoutRow += 3;
     }
 
-    int startRow = 1 + this.start.getCoordinates()[0] * 3;
-    int startCol = 1 + this.start.getCoordinates()[1] * 3;
-    int endRow = 1 + this.end.getCoordinates()[0] * 3;
-    int endCol = 1 + this.end.getCoordinates()[1] * 3;
+    int startRow = 1 + dungeon.getStart().getCoordinates()[0] * 3;
+    int startCol = 1 + dungeon.getStart().getCoordinates()[1] * 3;
+    int endRow = 1 + dungeon.getEnd().getCoordinates()[0] * 3;
+    int endCol = 1 + dungeon.getEnd().getCoordinates()[1] * 3;
 
     String start = layout[startRow][startCol];
     layout[startRow][startCol] = start.charAt(0) + "S" + start.charAt(2);
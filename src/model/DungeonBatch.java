@@ -0,0 +1,87 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the outcome of generating many game dungeons at once.
+ * The dungeons are kept in the same order as the seeds they were built from, together with
+ * the time taken to build all of them.
+ */
+public class DungeonBatch {
+  private final long[] seeds;
+  private final Dungeon[] dungeons;
+  private final long elapsedNanos;
+
+  /**
+   * Constructs a batch of generated dungeons.
+   *
+   * @param seeds        the seed each dungeon was built from
+   * @param dungeons     the dungeons in seed order, null where a build was not successful
+   * @param elapsedNanos the wall-clock time taken to build the whole batch, in nanoseconds
+   */
+  DungeonBatch(long[] seeds, Dungeon[] dungeons, long elapsedNanos) {
+    this.seeds = seeds;
+    this.dungeons = dungeons;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Retrieves the number of dungeons requested in this batch.
+   *
+   * @return the number of seeds in the batch
+   */
+  public int size() {
+    return this.seeds.length;
+  }
+
+  /**
+   * Retrieves the seed the dungeon at the given index was built from.
+   *
+   * @param index the index of the dungeon in the batch
+   * @return the seed of the dungeon
+   */
+  public long getSeed(int index) {
+    return this.seeds[index];
+  }
+
+  /**
+   * Retrieves the dungeon at the given index.
+   *
+   * @param index the index of the dungeon in the batch
+   * @return the dungeon built from the seed at the same index,
+   *         or null if no dungeon could be built from that seed
+   */
+  public Dungeon getDungeon(int index) {
+    return this.dungeons[index];
+  }
+
+  /**
+   * Retrieves the number of seeds for which no dungeon could be built.
+   *
+   * @return the number of failed builds
+   */
+  public int getNoOfFailures() {
+    return (int) Arrays.stream(this.dungeons).filter(d -> d == null).count();
+  }
+
+  /**
+   * Retrieves the wall-clock time taken to build the whole batch.
+   *
+   * @return the elapsed time in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  /**
+   * Retrieves the throughput of the batch generation.
+   *
+   * @return the number of dungeons built per second
+   */
+  public double getDungeonsPerSecond() {
+    if (this.elapsedNanos == 0) {
+      return 0;
+    }
+    return (this.size() - this.getNoOfFailures()) * 1e9 / this.elapsedNanos;
+  }
+}
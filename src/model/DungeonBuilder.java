@@ -1,14 +1,9 @@
 package model;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
-import java.util.Set;
-
-import utils.Tuple;
 
 /**
  * This class represents a Dungeon Builder that constructs a dungeon grid based on given parameters.
@@ -19,6 +14,7 @@ class DungeonBuilder {
   private final int cols;
   private final int interconn;
   private final Random rand;
+  private final MazeEngine engine;
 
   /**
    * Constructs a DungeonBuilder with the specified parameters.
@@ -30,11 +26,36 @@ class DungeonBuilder {
    * @param rand      the Random object used for generating random values
    */
   protected DungeonBuilder(int rows, int cols, boolean wrapping, int interconn, Random rand) {
+    this(rows, cols, wrapping, interconn, rand, MazeEngine.CLASSIC);
+  }
+
+  /**
+   * Constructs a DungeonBuilder with the specified parameters and path carving engine.
+   *
+   * @param rows      the number of rows in the dungeon grid
+   * @param cols      the number of columns in the dungeon grid
+   * @param wrapping  indicates whether the dungeon is wrapping
+   * @param interconn the degree of interconnectivity in the dungeon
+   * @param rand      the Random object used for generating random values
+   * @param engine    the engine used for carving paths between the cells
+   */
+  protected DungeonBuilder(int rows, int cols, boolean wrapping, int interconn, Random rand,
+                           MazeEngine engine) {
     this.rows = rows;
     this.cols = cols;
     this.wrapping = wrapping;
     this.interconn = interconn;
     this.rand = rand;
+    this.engine = engine;
+  }
+
+  /**
+   * Checks if the dungeon is built with paths wrapping around the grid edges.
+   *
+   * @return true if the dungeon is wrapping, else false
+   */
+  boolean isWrapping() {
+    return wrapping;
   }
 
   /**
@@ -43,178 +64,323 @@ class DungeonBuilder {
    * @return a 2D array representing the dungeon grid
    */
   Location[][] buildDungeon() {
-    Set<String> potentialPaths = getAllPotentialPaths(wrapping);
-    List<Set<String>> setList = new ArrayList<>();
-    HashMap<Direction, String>[][] directions = createPaths(setList, potentialPaths);
+    if (engine == MazeEngine.UNION_FIND) {
+      return createCellsInDungeon(createPathsUnionFind());
+    }
+
+    long[] potentialPaths = getAllPotentialPaths(wrapping);
+    HashMap<Direction, String>[][] directions = createPaths(potentialPaths);
     return createCellsInDungeon(directions);
   }
 
+  /**
+   * Builds only the paths of the dungeon, as one direction mask per cell id (row * cols + col)
+   * with bit (1 << direction ordinal) set for every direction that leads away from the cell.
+   * The random numbers drawn are the same as for {@link #buildDungeon()}.
+   *
+   * @return the direction masks of all the cells
+   * @throws IllegalArgumentException if any cell ends up without a path
+   */
+  byte[] buildDirectionMasks() throws IllegalArgumentException {
+    byte[] directionMasks;
+
+    if (engine == MazeEngine.UNION_FIND) {
+      directionMasks = createPathsUnionFind();
+    } else {
+      HashMap<Direction, String>[][] directions = createPaths(getAllPotentialPaths(wrapping));
+      directionMasks = new byte[rows * cols];
+
+      for (int row = 0; row < rows; row++) {
+        for (int col = 0; col < cols; col++) {
+          if (directions[row][col] != null) {
+            for (Direction d : directions[row][col].keySet()) {
+              directionMasks[row * cols + col] |= (byte) (1 << d.ordinal());
+            }
+          }
+        }
+      }
+    }
+
+    for (byte mask : directionMasks) {
+      if (mask == 0) {
+        throw new IllegalArgumentException("Possible cell directions should be valid!");
+      }
+    }
+    return directionMasks;
+  }
+
   private Location[][] createCellsInDungeon(HashMap<Direction, String>[][] directions) {
     Location[][] locations = new Location[rows][cols];
     for (int row = 0; row < rows; row++) {
       for (int col = 0; col < cols; col++) {
-        locations[row][col] = new Cell(row, col, directions[row][col]);
+        locations[row][col] = new Cell(row, col, directions[row][col], cols);
       }
     }
     return locations;
   }
 
-  private HashMap<Direction, String>[][] createPaths(List<Set<String>> setList, Set<String> potentialPaths) {
-    HashMap<Direction, String>[][] directions = new HashMap[rows][cols];
+  private Location[][] createCellsInDungeon(byte[] directionMasks) {
+    Direction[] allDirections = Direction.values();
+    Location[][] locations = new Location[rows][cols];
 
     for (int row = 0; row < rows; row++) {
       for (int col = 0; col < cols; col++) {
-        String xy = row + " " + col;
-        Set<String> nodeSet = new HashSet<>();
-        nodeSet.add(xy);
-        setList.add(nodeSet);
-      }
-    }
+        byte mask = directionMasks[row * cols + col];
+        HashMap<Direction, String> directions = new HashMap<>();
 
-    int noOfPaths;
-    List<String> paths = new ArrayList<>(potentialPaths);
-    List<String> leftoverPaths = new ArrayList<>();
-
-    while (paths.size() > 1) {
-      noOfPaths = paths.size();
-      String chosenPath = paths.get(rand.nextInt(noOfPaths));
-
-      String[] nodes = chosenPath.split("-");
-      int x1 = Integer.parseInt(nodes[0].split(" ")[0]);
-      int y1 = Integer.parseInt(nodes[0].split(" ")[1]);
-      int x2 = Integer.parseInt(nodes[1].split(" ")[0]);
-      int y2 = Integer.parseInt(nodes[1].split(" ")[1]);
-
-      int j = -1;
-      int k = -1;
-      for (int i = 0; i < setList.size(); i++) {
-        if (setList.get(i).contains(nodes[0]) && setList.get(i).contains(nodes[1])) {
-          leftoverPaths.add(chosenPath);
-        } else {
-          if (setList.get(i).contains(nodes[0])) {
-            j = i;
-          }
-          if (setList.get(i).contains(nodes[1])) {
-            k = i;
+        for (Direction d : allDirections) {
+          if ((mask & (1 << d.ordinal())) != 0) {
+            directions.put(d, getNeighbourRow(row, d) + " " + getNeighbourCol(col, d));
           }
         }
+
+        locations[row][col] = new Cell(row, col, directions, cols);
       }
+    }
+    return locations;
+  }
 
-      if (j != -1 && k != -1) {
-        setList.set(j, mergeSet(setList.get(j), setList.get(k)));
-        setList.remove(k);
+  private int getNeighbourRow(int row, Direction d) {
+    if (d == Direction.NORTH) {
+      return (row + rows - 1) % rows;
+    } else if (d == Direction.SOUTH) {
+      return (row + 1) % rows;
+    }
+    return row;
+  }
 
-        if (Objects.isNull(directions[x1][y1])) {
-          directions[x1][y1] = new HashMap<>();
-        }
-        directions[x1][y1].put(getDirection(x1, y1, x2, y2), nodes[1]);
+  private int getNeighbourCol(int col, Direction d) {
+    if (d == Direction.WEST) {
+      return (col + cols - 1) % cols;
+    } else if (d == Direction.EAST) {
+      return (col + 1) % cols;
+    }
+    return col;
+  }
 
-        if (Objects.isNull(directions[x2][y2])) {
-          directions[x2][y2] = new HashMap<>();
-        }
-        directions[x2][y2].put(getDirection(x2, y2, x1, y1), nodes[0]);
+  private HashMap<Direction, String>[][] createPaths(long[] potentialPaths) {
+    HashMap<Direction, String>[][] directions = new HashMap[rows][cols];
+    DisjointSet connectedCells = new DisjointSet(rows * cols);
+
+    // picking the i-th remaining path must match picking it from a list that shrinks
+    // in place, so the remaining paths are tracked in order by an index tree
+    IndexTree paths = new IndexTree(potentialPaths.length);
+    long[] leftoverPaths = new long[potentialPaths.length];
+    int noOfLeftoverPaths = 0;
+
+    while (paths.size() > 1) {
+      int chosenIndex = paths.get(rand.nextInt(paths.size()));
+      long chosenPath = potentialPaths[chosenIndex];
+
+      if (connectedCells.union(getPathStart(chosenPath), getPathEnd(chosenPath))) {
+        connect(directions, chosenPath);
+      } else {
+        leftoverPaths[noOfLeftoverPaths] = chosenPath;
+        noOfLeftoverPaths += 1;
       }
 
-      paths.remove(chosenPath);
+      paths.remove(chosenIndex);
     }
 
-    if (interconn > leftoverPaths.size()) {
+    if (interconn > noOfLeftoverPaths) {
       throw new IllegalArgumentException("Dungeon size too small for interconnectivity = " + interconn);
     }
 
     int interconnectivity = interconn;
     while (interconnectivity > 0) {
-      String chosenPath;
-      noOfPaths = leftoverPaths.size();
-      chosenPath = leftoverPaths.get(rand.nextInt(noOfPaths));
-
-      String[] nodes = chosenPath.split("-");
-      int x1 = Integer.parseInt(nodes[0].split(" ")[0]);
-      int y1 = Integer.parseInt(nodes[0].split(" ")[1]);
-      int x2 = Integer.parseInt(nodes[1].split(" ")[0]);
-      int y2 = Integer.parseInt(nodes[1].split(" ")[1]);
-
-      if (Objects.isNull(directions[x1][y1])) {
-        directions[x1][y1] = new HashMap<>();
+      int chosenIndex = rand.nextInt(noOfLeftoverPaths);
+      long chosenPath = leftoverPaths[chosenIndex];
+
+      connect(directions, chosenPath);
+
+      System.arraycopy(leftoverPaths, chosenIndex + 1, leftoverPaths, chosenIndex,
+              noOfLeftoverPaths - chosenIndex - 1);
+      noOfLeftoverPaths -= 1;
+      interconnectivity -= 1;
+    }
+
+    return directions;
+  }
+
+  private byte[] createPathsUnionFind() {
+    int noOfCells = rows * cols;
+    DisjointSet connectedCells = new DisjointSet(noOfCells);
+    byte[] directionMasks = new byte[noOfCells];
+
+    // every cell has at most one path to the south and one to the east, wrapping paths
+    // from the last row and column take the place of those, a path is (cell id << 1 | axis)
+    int[] paths = new int[2 * noOfCells];
+    int noOfPaths = 0;
+
+    for (int id = 0; id < noOfCells; id++) {
+      if (id / cols + 1 < rows || (wrapping && rows > 2)) {
+        paths[noOfPaths] = id << 1;
+        noOfPaths += 1;
       }
-      directions[x1][y1].put(getDirection(x1, y1, x2, y2), nodes[1]);
+      if (id % cols + 1 < cols || (wrapping && cols > 2)) {
+        paths[noOfPaths] = id << 1 | 1;
+        noOfPaths += 1;
+      }
+    }
+
+    // paths still to be considered live in [noOfLeftoverPaths, noOfPaths), paths that
+    // would close a loop are swapped to the front and kept for interconnectivity
+    int noOfLeftoverPaths = 0;
+
+    while (noOfLeftoverPaths < noOfPaths) {
+      int chosenIndex = noOfLeftoverPaths + rand.nextInt(noOfPaths - noOfLeftoverPaths);
+      int chosenPath = paths[chosenIndex];
+
+      if (connectedCells.union(chosenPath >>> 1, getUnionFindPathEnd(chosenPath))) {
+        connect(directionMasks, chosenPath);
 
-      if (Objects.isNull(directions[x2][y2])) {
-        directions[x2][y2] = new HashMap<>();
+        noOfPaths -= 1;
+        paths[chosenIndex] = paths[noOfPaths];
+      } else {
+        paths[chosenIndex] = paths[noOfLeftoverPaths];
+        paths[noOfLeftoverPaths] = chosenPath;
+        noOfLeftoverPaths += 1;
       }
-      directions[x2][y2].put(getDirection(x2, y2, x1, y1), nodes[0]);
+    }
+
+    if (interconn > noOfLeftoverPaths) {
+      throw new IllegalArgumentException("Dungeon size too small for interconnectivity = " + interconn);
+    }
+
+    int interconnectivity = interconn;
+    while (interconnectivity > 0) {
+      int chosenIndex = rand.nextInt(noOfLeftoverPaths);
+      int chosenPath = paths[chosenIndex];
 
-      leftoverPaths.remove(chosenPath);
+      noOfLeftoverPaths -= 1;
+      paths[chosenIndex] = paths[noOfLeftoverPaths];
+
+      connect(directionMasks, chosenPath);
       interconnectivity -= 1;
     }
 
-    return directions;
+    return directionMasks;
+  }
+
+  private int getUnionFindPathEnd(int path) {
+    int id = path >>> 1;
+    int row = id / cols;
+    int col = id % cols;
+
+    if ((path & 1) == 0) {
+      return ((row + 1) % rows) * cols + col;
+    }
+    return row * cols + (col + 1) % cols;
   }
 
-  private Set<String> getAllPotentialPaths(boolean wrapping) {
-    Set<String> paths = new HashSet<>();
+  private void connect(byte[] directionMasks, int path) {
+    if ((path & 1) == 0) {
+      directionMasks[path >>> 1] |= (byte) (1 << Direction.SOUTH.ordinal());
+      directionMasks[getUnionFindPathEnd(path)] |= (byte) (1 << Direction.NORTH.ordinal());
+    } else {
+      directionMasks[path >>> 1] |= (byte) (1 << Direction.EAST.ordinal());
+      directionMasks[getUnionFindPathEnd(path)] |= (byte) (1 << Direction.WEST.ordinal());
+    }
+  }
+
+  private void connect(HashMap<Direction, String>[][] directions, long path) {
+    int x1 = getPathStart(path) / cols;
+    int y1 = getPathStart(path) % cols;
+    int x2 = getPathEnd(path) / cols;
+    int y2 = getPathEnd(path) % cols;
+
+    if (Objects.isNull(directions[x1][y1])) {
+      directions[x1][y1] = new HashMap<>();
+    }
+    directions[x1][y1].put(getDirection(x1, y1, x2, y2), x2 + " " + y2);
+
+    if (Objects.isNull(directions[x2][y2])) {
+      directions[x2][y2] = new HashMap<>();
+    }
+    directions[x2][y2].put(getDirection(x2, y2, x1, y1), x1 + " " + y1);
+  }
+
+  private long[] getAllPotentialPaths(boolean wrapping) {
+    // the classic engine considers paths in the iteration order of a hash set of "x1 y1-x2 y2"
+    // strings, so that string is still built once per path to keep seeded layouts unchanged
+    Map<String, Integer> pathOrder = new HashMap<>();
+    long[] paths = new long[2 * rows * cols + rows + cols];
+    int noOfPaths = 0;
+
+    int[] neighbours = new int[4];
+
     for (int row = 0; row < rows; row++) {
       for (int col = 0; col < cols; col++) {
-        Tuple<Integer, Integer> currentNode = new Tuple<>(row, col);
-        List<String> currentPaths = getPathsForNode(currentNode, wrapping);
-        paths = addToSet(currentPaths, paths);
+        int id = row * cols + col;
+        int noOfNeighbours = getPathsForNode(row, col, wrapping, neighbours);
+
+        for (int i = 0; i < noOfNeighbours; i++) {
+          int neighbour = neighbours[i];
+
+          // a neighbour visited earlier has already added the same path the other way round
+          if (neighbour < id || isRepeated(neighbours, i)) {
+            continue;
+          }
+
+          paths[noOfPaths] = (long) id << 32 | neighbour;
+          pathOrder.put(row + " " + col + "-" + neighbour / cols + " " + neighbour % cols,
+                  noOfPaths);
+          noOfPaths += 1;
+        }
       }
     }
-    return paths;
-  }
 
-  private List<String> getPathsForNode(Tuple<Integer, Integer> currentNode, boolean wrapping) {
-    int x = currentNode.getX();
-    int y = currentNode.getY();
-    List<String> currPaths = new ArrayList<>();
+    long[] orderedPaths = new long[noOfPaths];
+    int i = 0;
+    for (int index : pathOrder.values()) {
+      orderedPaths[i] = paths[index];
+      i += 1;
+    }
+    return orderedPaths;
+  }
 
-    int xPlus = x + 1;
-    int xMinus = x - 1;
-    int yPlus = y + 1;
-    int yMinus = y - 1;
+  private int getPathsForNode(int x, int y, boolean wrapping, int[] neighbours) {
+    int noOfNeighbours = 0;
 
-    if (xPlus < rows) {
-      currPaths.add(String.format("%d %d-%d %d", x, y, xPlus, y));
+    if (x + 1 < rows) {
+      neighbours[noOfNeighbours++] = (x + 1) * cols + y;
     }
-    if (xMinus >= 0) {
-      currPaths.add(String.format("%d %d-%d %d", x, y, xMinus, y));
+    if (x - 1 >= 0) {
+      neighbours[noOfNeighbours++] = (x - 1) * cols + y;
     }
-    if (yPlus < cols) {
-      currPaths.add(String.format("%d %d-%d %d", x, y, x, yPlus));
+    if (y + 1 < cols) {
+      neighbours[noOfNeighbours++] = x * cols + y + 1;
     }
-    if (yMinus >= 0) {
-      currPaths.add(String.format("%d %d-%d %d", x, y, x, yMinus));
+    if (y - 1 >= 0) {
+      neighbours[noOfNeighbours++] = x * cols + y - 1;
     }
 
     if (wrapping) {
-      if (xMinus < 0) {
-        currPaths.add(String.format("%d %d-%d %d", x, y, rows - 1, y));
+      if (x - 1 < 0) {
+        neighbours[noOfNeighbours++] = (rows - 1) * cols + y;
       }
-      if (yPlus > cols) {
-        currPaths.add(String.format("%d %d-%d %d", x, y, x, 0));
-      }
-      if (xPlus > rows) {
-        currPaths.add(String.format("%d %d-%d %d", x, y, 0, y));
-      }
-      if (yMinus < 0) {
-        currPaths.add(String.format("%d %d-%d %d", x, y, x, cols - 1));
+      if (y - 1 < 0) {
+        neighbours[noOfNeighbours++] = x * cols + cols - 1;
       }
     }
-    return currPaths;
+    return noOfNeighbours;
   }
 
-  private Set<String> addToSet(List<String> currentPaths, Set<String> paths) {
-    for (String path : currentPaths) {
-      if (!(paths.contains(path)) && !(paths.contains(flipPath(path)))) {
-        paths.add(path);
+  private boolean isRepeated(int[] neighbours, int index) {
+    for (int i = 0; i < index; i++) {
+      if (neighbours[i] == neighbours[index]) {
+        return true;
       }
     }
-    return paths;
+    return false;
+  }
+
+  private int getPathStart(long path) {
+    return (int) (path >>> 32);
   }
 
-  private String flipPath(String path) {
-    String[] points = path.split("-");
-    return points[1] + "-" + points[0];
+  private int getPathEnd(long path) {
+    return (int) path;
   }
 
   private Direction getDirection(int xOne, int yOne, int xTwo, int yTwo) {
@@ -236,11 +402,4 @@ class DungeonBuilder {
       return Direction.WEST;
     }
   }
-
-  private <T> Set<T> mergeSet(Set<T> a, Set<T> b) {
-    Set<T> mergedSet = new HashSet<>();
-    mergedSet.addAll(a);
-    mergedSet.addAll(b);
-    return mergedSet;
-  }
 }
@@ -0,0 +1,154 @@
+package model;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The DungeonFactory class generates many game dungeons concurrently on a fork-join pool.
+ * Every dungeon gets its own random stream derived only from its seed, so a given seed always
+ * yields the same dungeon no matter how many threads take part in the generation.
+ */
+public class DungeonFactory {
+
+  private DungeonFactory() {
+    // static utility, not meant to be instantiated
+  }
+
+  /**
+   * Generates one dungeon per given seed using the common fork-join pool.
+   *
+   * @param params the parameters shared by all the dungeons
+   * @param seeds  the seeds, one per dungeon to be built
+   * @return the batch of dungeons in seed order
+   * @throws IllegalArgumentException if the parameters or the seeds are null,
+   *                                  or the parameters are not valid for a dungeon
+   */
+  public static DungeonBatch generate(DungeonParameters params, long[] seeds)
+          throws IllegalArgumentException {
+    return generate(params, seeds, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Generates one dungeon per given seed using a fork-join pool of the given parallelism.
+   *
+   * @param params      the parameters shared by all the dungeons
+   * @param seeds       the seeds, one per dungeon to be built
+   * @param parallelism the number of worker threads to build the dungeons with
+   * @return the batch of dungeons in seed order
+   * @throws IllegalArgumentException if the parameters or the seeds are null,
+   *                                  or the parameters are not valid for a dungeon,
+   *                                  or the parallelism is not positive
+   */
+  public static DungeonBatch generate(DungeonParameters params, long[] seeds, int parallelism)
+          throws IllegalArgumentException {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("Parallelism should be positive!");
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return generate(params, seeds, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Generates the given number of dungeons whose seeds are split off a single master seed.
+   * The per-dungeon seeds are derived in order before any work is forked, so the batch is
+   * reproducible from the master seed alone.
+   *
+   * @param params     the parameters shared by all the dungeons
+   * @param masterSeed the seed all the per-dungeon seeds are derived from
+   * @param count      the number of dungeons to be built
+   * @return the batch of dungeons
+   * @throws IllegalArgumentException if the parameters are null or not valid for a dungeon,
+   *                                  or the count is negative
+   */
+  public static DungeonBatch generate(DungeonParameters params, long masterSeed, int count)
+          throws IllegalArgumentException {
+    return generate(params, splitSeeds(masterSeed, count));
+  }
+
+  /**
+   * Derives the given number of independent seeds from a single master seed.
+   *
+   * @param masterSeed the seed all the derived seeds come from
+   * @param count      the number of seeds to derive
+   * @return the derived seeds
+   * @throws IllegalArgumentException if the count is negative
+   */
+  public static long[] splitSeeds(long masterSeed, int count) throws IllegalArgumentException {
+    if (count < 0) {
+      throw new IllegalArgumentException("Number of dungeons cannot be negative!");
+    }
+
+    SplittableRandom master = new SplittableRandom(masterSeed);
+    long[] seeds = new long[count];
+
+    for (int i = 0; i < count; i++) {
+      seeds[i] = master.split().nextLong();
+    }
+    return seeds;
+  }
+
+  private static DungeonBatch generate(DungeonParameters params, long[] seeds, ForkJoinPool pool) {
+    if (params == null) {
+      throw new IllegalArgumentException("Dungeon parameters cannot be null!");
+    } else if (seeds == null) {
+      throw new IllegalArgumentException("Seeds cannot be null!");
+    }
+
+    long[] seedsCopy = seeds.clone();
+    Dungeon[] dungeons = new Dungeon[seedsCopy.length];
+
+    long start = System.nanoTime();
+    pool.invoke(new GenerateTask(params, seedsCopy, dungeons, 0, seedsCopy.length));
+    long elapsed = System.nanoTime() - start;
+
+    return new DungeonBatch(seedsCopy, dungeons, elapsed);
+  }
+
+  private static class GenerateTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final DungeonParameters params;
+    private final long[] seeds;
+    private final Dungeon[] dungeons;
+    private final int from;
+    private final int to;
+
+    GenerateTask(DungeonParameters params, long[] seeds, Dungeon[] dungeons, int from, int to) {
+      this.params = params;
+      this.seeds = seeds;
+      this.dungeons = dungeons;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= 1) {
+        for (int i = this.from; i < this.to; i++) {
+          this.dungeons[i] = build(this.seeds[i]);
+        }
+        return;
+      }
+
+      int mid = (this.from + this.to) >>> 1;
+      invokeAll(new GenerateTask(this.params, this.seeds, this.dungeons, this.from, mid),
+              new GenerateTask(this.params, this.seeds, this.dungeons, mid, this.to));
+    }
+
+    private Dungeon build(long seed) {
+      try {
+        return this.params.build(new Random(seed));
+      } catch (IllegalStateException ise) {
+        // no start and end caves far enough apart for this seed
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This class represents the set of parameters a game dungeon is built from.
+ * It lets many dungeons of the same shape be described once, e.g., for bulk generation.
+ */
+public class DungeonParameters {
+  private final int rows;
+  private final int columns;
+  private final boolean wrapping;
+  private final int interconnectivity;
+  private final double treasurePct;
+  private final int noOfMonsters;
+  private final MazeEngine engine;
+
+  /**
+   * Constructs a set of dungeon parameters that uses the classic maze engine.
+   *
+   * @param rows              the number of rows in the game dungeon
+   * @param columns           the number of columns in the game dungeon
+   * @param wrapping          if the game dungeon needs to be wrapping, true if yes, false otherwise
+   * @param interconnectivity the degree of interconnectivity required for the dungeon
+   * @param treasurePct       the percentage of caves to be filled with treasure, between 0 and 100
+   * @param noOfMonsters      the number of monsters to be added to the dungeon
+   */
+  public DungeonParameters(int rows, int columns, boolean wrapping, int interconnectivity,
+                           double treasurePct, int noOfMonsters) {
+    this(rows, columns, wrapping, interconnectivity, treasurePct, noOfMonsters,
+            MazeEngine.CLASSIC);
+  }
+
+  /**
+   * Constructs a set of dungeon parameters.
+   *
+   * @param rows              the number of rows in the game dungeon
+   * @param columns           the number of columns in the game dungeon
+   * @param wrapping          if the game dungeon needs to be wrapping, true if yes, false otherwise
+   * @param interconnectivity the degree of interconnectivity required for the dungeon
+   * @param treasurePct       the percentage of caves to be filled with treasure, between 0 and 100
+   * @param noOfMonsters      the number of monsters to be added to the dungeon
+   * @param engine            the engine used for carving paths between the dungeon locations
+   */
+  public DungeonParameters(int rows, int columns, boolean wrapping, int interconnectivity,
+                           double treasurePct, int noOfMonsters, MazeEngine engine) {
+    this.rows = rows;
+    this.columns = columns;
+    this.wrapping = wrapping;
+    this.interconnectivity = interconnectivity;
+    this.treasurePct = treasurePct;
+    this.noOfMonsters = noOfMonsters;
+    this.engine = engine;
+  }
+
+  /**
+   * Builds a new game dungeon from these parameters.
+   *
+   * @param rand the Random object, can be truly random or deterministic
+   * @return the new game dungeon
+   * @throws IllegalArgumentException if the parameters are not valid for a dungeon
+   * @throws IllegalStateException    if dungeon build is not successful using these parameters
+   */
+  public Dungeon build(Random rand) {
+    return new Dungeon(this.rows, this.columns, this.wrapping, this.interconnectivity,
+            this.treasurePct, this.noOfMonsters, rand, this.engine);
+  }
+
+  /**
+   * Builds a new game dungeon from these parameters with the compact representation, laid out
+   * the same as the dungeon {@link #build(Random)} makes from the same random stream.
+   *
+   * @param rand the Random object, can be truly random or deterministic
+   * @return the new game dungeon
+   * @throws IllegalArgumentException if the parameters are not valid for a dungeon
+   * @throws IllegalStateException    if dungeon build is not successful using these parameters
+   */
+  public CompactDungeon buildCompact(Random rand) {
+    return new CompactDungeon(this.rows, this.columns, this.wrapping, this.interconnectivity,
+            this.treasurePct, this.noOfMonsters, rand, this.engine);
+  }
+
+  /**
+   * Retrieves the number of rows in the game dungeon.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Retrieves the number of columns in the game dungeon.
+   *
+   * @return the number of columns
+   */
+  public int getColumns() {
+    return this.columns;
+  }
+
+  /**
+   * Checks if the game dungeon is wrapping.
+   *
+   * @return true if the dungeon wraps, else false
+   */
+  public boolean isWrapping() {
+    return this.wrapping;
+  }
+
+  /**
+   * Retrieves the degree of interconnectivity of the game dungeon.
+   *
+   * @return the degree of interconnectivity
+   */
+  public int getInterconnectivity() {
+    return this.interconnectivity;
+  }
+
+  /**
+   * Retrieves the percentage of caves to be filled with treasure.
+   *
+   * @return the percentage of treasure caves
+   */
+  public double getTreasurePct() {
+    return this.treasurePct;
+  }
+
+  /**
+   * Retrieves the number of monsters in the game dungeon.
+   *
+   * @return the number of monsters
+   */
+  public int getNoOfMonsters() {
+    return this.noOfMonsters;
+  }
+
+  /**
+   * Retrieves the engine used for carving paths between the dungeon locations.
+   *
+   * @return the maze engine
+   */
+  public MazeEngine getEngine() {
+    return this.engine;
+  }
+}
@@ -0,0 +1,267 @@
+package model;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * The GameSimulator class plays many adventure games end to end without a user or a view,
+ * concurrently on a fork-join pool, e.g., for balance experiments. Every game is built from its
+ * own seed and played by a {@link PlayerPolicy} through direct calls on the model, and only the
+ * totals of how the games went are kept.
+ *
+ * <p>The dungeon, the choices of the policy and the fights with injured Otyughs of a game all
+ * depend only on its seed, so simulating the same seeds again gives the same totals.
+ */
+public class GameSimulator {
+  private static final int GAMES_PER_TASK = 16;
+
+  private GameSimulator() {
+    // static utility, not meant to be instantiated
+  }
+
+  /**
+   * Simulates one game per given seed using the common fork-join pool.
+   *
+   * @param params   the parameters of the dungeons of all the games
+   * @param seeds    the seeds, one per game to be played
+   * @param policies the supplier of the policy playing each game
+   * @param maxTurns the number of turns after which a game that is not over is given up
+   * @return the totals over all the games
+   * @throws IllegalArgumentException if the parameters, seeds or policies are null, or the turn
+   *                                  limit is not positive
+   */
+  public static SimulationStats simulate(DungeonParameters params, long[] seeds,
+                                         Supplier<? extends PlayerPolicy> policies, int maxTurns)
+          throws IllegalArgumentException {
+    return simulate(params, seeds, policies, maxTurns, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Simulates one game per given seed using a fork-join pool of the given parallelism.
+   *
+   * @param params      the parameters of the dungeons of all the games
+   * @param seeds       the seeds, one per game to be played
+   * @param policies    the supplier of the policy playing each game
+   * @param maxTurns    the number of turns after which a game that is not over is given up
+   * @param parallelism the number of worker threads to play the games with
+   * @return the totals over all the games
+   * @throws IllegalArgumentException if the parameters, seeds or policies are null, or the turn
+   *                                  limit or the parallelism is not positive
+   */
+  public static SimulationStats simulate(DungeonParameters params, long[] seeds,
+                                         Supplier<? extends PlayerPolicy> policies, int maxTurns,
+                                         int parallelism) throws IllegalArgumentException {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("Parallelism should be positive!");
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return simulate(params, seeds, policies, maxTurns, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Simulates the given number of games whose seeds are split off a single master seed.
+   *
+   * @param params     the parameters of the dungeons of all the games
+   * @param masterSeed the seed all the per-game seeds are derived from
+   * @param count      the number of games to be played
+   * @param policies   the supplier of the policy playing each game
+   * @param maxTurns   the number of turns after which a game that is not over is given up
+   * @return the totals over all the games
+   * @throws IllegalArgumentException if the parameters or policies are null, the count is
+   *                                  negative or the turn limit is not positive
+   */
+  public static SimulationStats simulate(DungeonParameters params, long masterSeed, int count,
+                                         Supplier<? extends PlayerPolicy> policies, int maxTurns)
+          throws IllegalArgumentException {
+    return simulate(params, DungeonFactory.splitSeeds(masterSeed, count), policies, maxTurns);
+  }
+
+  /**
+   * Plays one game to its end or to the turn limit and counts it.
+   *
+   * @param params   the parameters of the dungeon of the game
+   * @param seed     the seed of the game
+   * @param policy   the policy playing the game
+   * @param maxTurns the number of turns after which the game is given up
+   * @param stats    the totals to count the game in
+   */
+  static void play(DungeonParameters params, long seed, PlayerPolicy policy, int maxTurns,
+                   SimulationStats stats) {
+    Random random = new Random(seed);
+    IDungeon dungeon;
+
+    try {
+      dungeon = params.buildCompact(random);
+    } catch (IllegalStateException ise) {
+      // no start and end caves far enough apart for this seed
+      stats.addFailedBuild();
+      return;
+    }
+
+    CountingGame game = new CountingGame(new AdventureGameModel(dungeon, random));
+    int turns = 0;
+    int invalidTurns = 0;
+
+    while (!game.isGameOver() && turns < maxTurns) {
+      turns += 1;
+      try {
+        policy.takeTurn(game, random);
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        invalidTurns += 1;
+      }
+    }
+
+    stats.addGame(game, turns, invalidTurns, game.moves, game.picks, game.arrowsShot,
+            game.arrowsHit);
+  }
+
+  private static SimulationStats simulate(DungeonParameters params, long[] seeds,
+                                          Supplier<? extends PlayerPolicy> policies,
+                                          int maxTurns, ForkJoinPool pool) {
+    if (params == null) {
+      throw new IllegalArgumentException("Dungeon parameters cannot be null!");
+    } else if (seeds == null) {
+      throw new IllegalArgumentException("Seeds cannot be null!");
+    } else if (policies == null) {
+      throw new IllegalArgumentException("Player policies cannot be null!");
+    } else if (maxTurns <= 0) {
+      throw new IllegalArgumentException("Turn limit should be positive!");
+    }
+
+    long start = System.nanoTime();
+    SimulationStats stats = pool.invoke(new SimulateTask(params, seeds.clone(), policies,
+            maxTurns, 0, seeds.length));
+    stats.setElapsedNanos(System.nanoTime() - start);
+
+    return stats;
+  }
+
+  private static class SimulateTask extends RecursiveTask<SimulationStats> {
+    private static final long serialVersionUID = 1L;
+
+    private final DungeonParameters params;
+    private final long[] seeds;
+    private final Supplier<? extends PlayerPolicy> policies;
+    private final int maxTurns;
+    private final int from;
+    private final int to;
+
+    SimulateTask(DungeonParameters params, long[] seeds,
+                 Supplier<? extends PlayerPolicy> policies, int maxTurns, int from, int to) {
+      this.params = params;
+      this.seeds = seeds;
+      this.policies = policies;
+      this.maxTurns = maxTurns;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected SimulationStats compute() {
+      if (this.to - this.from <= GAMES_PER_TASK) {
+        SimulationStats stats = new SimulationStats();
+        for (int i = this.from; i < this.to; i++) {
+          play(this.params, this.seeds[i], this.policies.get(), this.maxTurns, stats);
+        }
+        return stats;
+      }
+
+      int mid = (this.from + this.to) >>> 1;
+      SimulateTask left = new SimulateTask(this.params, this.seeds, this.policies,
+              this.maxTurns, this.from, mid);
+      left.fork();
+      SimulationStats right = new SimulateTask(this.params, this.seeds, this.policies,
+              this.maxTurns, mid, this.to).compute();
+      return right.merge(left.join());
+    }
+  }
+
+  /**
+   * A game that counts the actions of the player that were carried out.
+   */
+  private static class CountingGame implements GameModel {
+    private final GameModel game;
+    private int moves;
+    private int picks;
+    private int arrowsShot;
+    private int arrowsHit;
+
+    CountingGame(GameModel game) {
+      this.game = game;
+    }
+
+    @Override
+    public void movePlayer(Direction d) {
+      this.game.movePlayer(d);
+      this.moves += 1;
+    }
+
+    @Override
+    public void pickItem(Item i) {
+      this.game.pickItem(i);
+      this.picks += 1;
+    }
+
+    @Override
+    public boolean shootArrow(Direction d, int distance) {
+      boolean hit = this.game.shootArrow(d, distance);
+      this.arrowsShot += 1;
+      if (hit) {
+        this.arrowsHit += 1;
+      }
+      return hit;
+    }
+
+    @Override
+    public IPlayer getPlayer() {
+      return this.game.getPlayer();
+    }
+
+    @Override
+    public IDungeon getDungeon() {
+      return this.game.getDungeon();
+    }
+
+    @Override
+    public Location getGameStart() {
+      return this.game.getGameStart();
+    }
+
+    @Override
+    public Location getGameEnd() {
+      return this.game.getGameEnd();
+    }
+
+    @Override
+    public boolean isGameOver() {
+      return this.game.isGameOver();
+    }
+
+    @Override
+    public String getGameState() {
+      return this.game.getGameState();
+    }
+
+    @Override
+    public InventorySnapshot getInventorySnapshot() {
+      return this.game.getInventorySnapshot();
+    }
+
+    @Override
+    public void addModelChangeListener(ModelChangeListener listener) {
+      this.game.addModelChangeListener(listener);
+    }
+
+    @Override
+    public void removeModelChangeListener(ModelChangeListener listener) {
+      this.game.removeModelChangeListener(listener);
+    }
+  }
+}
@@ -0,0 +1,736 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The GameSolver class finds the best chance of winning an adventure game from its current state,
+ * and the actions that play for it, by searching every way the game can go on. The solver knows
+ * where every monster and arrow is, so the chance is the best any player can hope for, e.g., to
+ * tell if a dungeon can be won at all.
+ *
+ * <p>Moving is free and only entering the cave of a living monster is a risk, so a game state is
+ * reduced to the region the player can walk in safely, the arrows the player holds or can pick up
+ * in that region, the hits taken by every monster and the caches of arrows already picked. From
+ * a region, the player shoots a monster it can hit from anywhere in the region, steps out of the
+ * cave of an injured monster it survived, or enters the cave of a monster, which an injured
+ * monster lets the player survive half the time. Arrows beyond the hits still needed to kill
+ * every monster are not counted, and shots at dead monsters or into empty caves are never made.
+ *
+ * <p>States are keyed by a 64-bit hash combining one random key per feature of the state, and
+ * solved states are kept in a {@link TranspositionTable} of bounded size. Chances are products
+ * of halves, so they are exact as floats.
+ *
+ * <p>The number of states searched grows quickly with the monsters the player has to gamble
+ * past, so every search stops after a budget of states visited, counting the states found in the
+ * table. A search that runs out of it reports the upper bound of the chance found for the current
+ * state instead, and plays the most promising action searched so far. Dungeons of 30x30 with
+ * 20 percent of arrows and up to 80 otyughs are solved exactly in a few dozen states, while
+ * those with 3 percent of arrows and 150 otyughs run out of the default budget, which takes a
+ * few seconds at most.
+ */
+public class GameSolver {
+  static final int DEFAULT_TABLE_SIZE = 1 << 20;
+  static final long DEFAULT_MAX_STATES = 1 << 17;
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+  private static final int MAX_DISTANCE = 5;
+  private static final int DEAD = 2;
+  private static final int NO_ACTION = -1;
+  private static final int UPPER_BOUND = -2;
+  private static final long KEY_SEED = 0x2545F4914F6CDD1DL;
+
+  private final ReadonlyGameModel game;
+  private final IDungeon dungeon;
+  private final GridSearch search;
+  private final ArrowRays rays;
+  private final int end;
+  private final int[] monsterCells;
+  private final int[] monsterAt;
+  private final int[][] shots;
+  private final int[] arrowCells;
+  private final int[] arrowAt;
+  private final int[] arrowCounts;
+
+  private final long[] cellKeys;
+  private final long[] hitKeys;
+  private final long[] pickedKeys;
+  private final long[] arrowKeys;
+  private final TranspositionTable table;
+  private final long maxStates;
+
+  private final byte[] hits;
+  private final boolean[] picked;
+  private final int[] pickStack;
+  private int pickTop;
+  private int hitsNeeded;
+  private int arrowsLeft;
+  private long hitsKey;
+  private long pickedKey;
+
+  private final int[] queue;
+  private final int[] stamp;
+  private final int[] firstMove;
+  private int generation;
+  private final int[][] buckets;
+  private final int[] reached;
+  private final int[] cameFrom;
+  private final int[] onPath;
+  private int reachedGeneration;
+
+  private final Map<Long, Integer> onStack;
+  private int shallowestCycle;
+  private int rootAction;
+  private long statesSolved;
+  private long statesVisited;
+  private long budgetEnd;
+  private boolean exhausted;
+  private float rootBound;
+
+  /**
+   * Constructs a solver of a game, keeping up to about a million solved states.
+   *
+   * @param game the game to solve
+   * @throws IllegalArgumentException if the game is null
+   */
+  public GameSolver(ReadonlyGameModel game) throws IllegalArgumentException {
+    this(game, DEFAULT_TABLE_SIZE);
+  }
+
+  /**
+   * Constructs a solver of a game, keeping up to the given number of solved states. Each state
+   * takes 16 bytes.
+   *
+   * @param game      the game to solve
+   * @param tableSize the maximum number of solved states kept
+   * @throws IllegalArgumentException if the game is null or the table size is not positive
+   */
+  public GameSolver(ReadonlyGameModel game, int tableSize) throws IllegalArgumentException {
+    this(game, tableSize, DEFAULT_MAX_STATES);
+  }
+
+  /**
+   * Constructs a solver of a game, keeping up to the given number of solved states and
+   * searching up to the given number of states per search.
+   *
+   * @param game      the game to solve
+   * @param tableSize the maximum number of solved states kept
+   * @param maxStates the maximum number of states visited before a search gives up
+   * @throws IllegalArgumentException if the game is null, or the table size or the maximum
+   *                                  number of states is not positive
+   */
+  public GameSolver(ReadonlyGameModel game, int tableSize, long maxStates)
+          throws IllegalArgumentException {
+    if (game == null) {
+      throw new IllegalArgumentException("Game to solve cannot be null!");
+    } else if (maxStates <= 0) {
+      throw new IllegalArgumentException("Maximum number of states should be positive!");
+    }
+
+    this.game = game;
+    this.dungeon = game.getDungeon();
+    this.search = GridSearch.of(this.dungeon);
+    this.rays = new ArrowRays(this.search);
+    this.end = this.dungeon.getEnd().getId();
+    this.table = new TranspositionTable(tableSize);
+    this.maxStates = maxStates;
+
+    int size = this.search.size();
+    this.monsterAt = new int[size];
+    this.arrowAt = new int[size];
+    Arrays.fill(this.monsterAt, -1);
+    Arrays.fill(this.arrowAt, -1);
+
+    int[] monsters = new int[size];
+    int[] arrows = new int[size];
+    int noOfMonsters = 0;
+    int noOfArrows = 0;
+    for (int id = 0; id < size; id++) {
+      Location location = this.getLocation(id);
+
+      if (location.hasMonster()) {
+        this.monsterAt[id] = noOfMonsters;
+        monsters[noOfMonsters++] = id;
+      }
+      // arrows are only ever picked, so no other location will hold any
+      if (location.getContent().contains(Weapon.ARROW)) {
+        this.arrowAt[id] = noOfArrows;
+        arrows[noOfArrows++] = id;
+      }
+    }
+    this.monsterCells = Arrays.copyOf(monsters, noOfMonsters);
+    this.arrowCells = Arrays.copyOf(arrows, noOfArrows);
+    this.arrowCounts = new int[noOfArrows];
+    this.shots = this.findShots();
+
+    SplittableRandom random = new SplittableRandom(KEY_SEED);
+    this.cellKeys = random.longs(size).toArray();
+    this.hitKeys = random.longs(noOfMonsters * (DEAD + 1L)).toArray();
+    this.pickedKeys = random.longs(noOfArrows).toArray();
+    this.arrowKeys = random.longs(noOfMonsters * (long) DEAD + 1).toArray();
+
+    this.hits = new byte[noOfMonsters];
+    this.picked = new boolean[noOfArrows];
+    this.pickStack = new int[noOfArrows];
+    this.queue = new int[size];
+    this.stamp = new int[size];
+    this.firstMove = new int[size];
+    this.buckets = new int[DEAD + 1][size];
+    this.reached = new int[size];
+    this.cameFrom = new int[size];
+    this.onPath = new int[size];
+    this.onStack = new HashMap<>();
+  }
+
+  /**
+   * Finds the best chance of winning the game from its current state. If the search runs out of
+   * its budget of states, the chance is only an upper bound, see {@link #isExact()}.
+   *
+   * @return the chance of winning between 0 and 1, playing the best way
+   */
+  public double getWinProbability() {
+    if (this.game.isGameOver()) {
+      this.exhausted = false;
+      return this.game.getPlayer().isAlive() ? 1 : 0;
+    }
+
+    this.readGame();
+    IPlayer player = this.game.getPlayer();
+    float chance = this.solve(player.getCurrentLocation().getId(), player.getArrowsLeft(), 0,
+            -1);
+    return this.exhausted ? this.rootBound : chance;
+  }
+
+  /**
+   * Checks if the last search finished within its budget of states, so the chance it found is
+   * exact and the action it played the best one.
+   *
+   * @return true if the last search finished, false if it gave up with an upper bound
+   */
+  public boolean isExact() {
+    return !this.exhausted;
+  }
+
+  /**
+   * Checks if the game can still be won from its current state. If the search runs out of its
+   * budget of states, the game is only known to be possibly winnable, see {@link #isExact()}.
+   *
+   * @return true if any way of playing wins with some chance, else false
+   */
+  public boolean isWinnable() {
+    return this.getWinProbability() > 0;
+  }
+
+  /**
+   * Retrieves the number of game states the solver searched, counting states solved again after
+   * being dropped from the table.
+   *
+   * @return the number of states solved
+   */
+  public long getStatesSolved() {
+    return this.statesSolved;
+  }
+
+  /**
+   * Retrieves the number of game states the solver visited, counting the states found in the
+   * table or cut off by their bound, which are what the budget of a search is counted in.
+   *
+   * @return the number of states visited
+   */
+  public long getStatesVisited() {
+    return this.statesVisited;
+  }
+
+  /**
+   * Plays one turn of the best way to win the game, i.e., picks up an arrow in the region, or
+   * moves or shoots for the best action from the region.
+   *
+   * @param play the game being solved, to play the turn on
+   * @throws IllegalStateException if the game is over
+   */
+  void playTurn(GameModel play) throws IllegalStateException {
+    if (play.isGameOver()) {
+      throw new IllegalStateException("Game is already over!");
+    }
+
+    this.readGame();
+    IPlayer player = play.getPlayer();
+    int cell = player.getCurrentLocation().getId();
+
+    // arrows are picked before anything else, nearest first, until there are enough of them
+    int count = player.getArrowsLeft() < this.hitsNeeded ? this.fillRegion(cell) : 0;
+    for (int i = 0; i < count; i++) {
+      int id = this.queue[i];
+      if (this.arrowAt[id] >= 0 && this.arrowCounts[this.arrowAt[id]] > 0) {
+        if (id == cell) {
+          play.pickItem(Weapon.ARROW);
+        } else {
+          play.movePlayer(DIRECTIONS[this.firstStep(cell, id)]);
+        }
+        return;
+      }
+    }
+
+    this.solve(cell, player.getArrowsLeft(), 0, -1);
+    int action = this.rootAction;
+    if (action == NO_ACTION) {
+      throw new IllegalStateException("No action left to take!");
+    }
+
+    int target = getActionCell(action);
+    if (getActionDistance(action) > 0 && target == cell) {
+      play.shootArrow(DIRECTIONS[getActionDirection(action)], getActionDistance(action));
+    } else {
+      play.movePlayer(DIRECTIONS[this.firstStep(cell, target)]);
+    }
+  }
+
+  /**
+   * Finds the value of the state the player is in at a location, holding some arrows, if it is
+   * above a floor. Otherwise it finds a value it does not exceed, which is all its caller needs.
+   */
+  private float solve(int cell, int arrows, int depth, float floor) {
+    if (this.statesVisited >= this.budgetEnd) {
+      // out of budget, nothing found from here on is stored or trusted
+      this.exhausted = true;
+      return 1;
+    }
+    this.statesVisited += 1;
+
+    int count = this.fillRegion(cell);
+    int region = this.generation;
+    int pickBase = this.pickTop;
+    int representative = cell;
+
+    for (int i = 0; i < count; i++) {
+      int id = this.queue[i];
+      representative = Math.min(representative, id);
+
+      int a = this.arrowAt[id];
+      if (a >= 0 && !this.picked[a]) {
+        this.picked[a] = true;
+        this.pickedKey ^= this.pickedKeys[a];
+        this.pickStack[this.pickTop++] = a;
+        arrows += this.arrowCounts[a];
+        this.arrowsLeft -= this.arrowCounts[a];
+      }
+    }
+    arrows = Math.min(arrows, this.hitsNeeded);
+
+    long key = this.cellKeys[representative] ^ this.hitsKey ^ this.pickedKey
+            ^ this.arrowKeys[arrows];
+    key = key == 0 ? 1 : key;
+
+    int slot = this.table.find(key);
+    if (slot >= 0 && (this.table.getAction(slot) != UPPER_BOUND
+            || this.table.getValue(slot) <= floor)) {
+      this.unpick(pickBase);
+      if (depth == 0) {
+        this.rootAction = this.table.getAction(slot);
+      }
+      return this.table.getValue(slot);
+    }
+
+    Integer cycle = this.onStack.get(key);
+    if (cycle != null) {
+      // coming back to a state loses at least a gamble on the way, so it is never the best
+      this.shallowestCycle = Math.min(this.shallowestCycle, cycle);
+      this.unpick(pickBase);
+      return 0;
+    }
+
+    // the actions are listed before any of them is searched, which reuses the region markers
+    int[] actions = new int[4 * count + this.monsterCells.length];
+    int noOfActions = 0;
+    for (int i = 0; i < count; i++) {
+      int id = this.queue[i];
+      for (int d = 0; d < DIRECTIONS.length; d++) {
+        int next = this.search.getNeighbour(id, d);
+        if (next != -1 && this.stamp[next] != region && this.stamp[next] != -region) {
+          this.stamp[next] = -region;
+          actions[noOfActions++] = toAction(next, 0, 0);
+        }
+      }
+    }
+    if (arrows > 0) {
+      for (int m = 0; m < this.monsterCells.length; m++) {
+        if (this.hits[m] < DEAD) {
+          for (int shot : this.shots[m]) {
+            if (this.stamp[getActionCell(shot)] == region) {
+              actions[noOfActions++] = shot;
+              break;
+            }
+          }
+        }
+      }
+    }
+
+    float bound = this.upperBound(count, arrows);
+    if (bound <= floor) {
+      this.table.store(key, bound, UPPER_BOUND);
+      this.unpick(pickBase);
+      return bound;
+    }
+
+    // actions on the way the bound was found for are the likeliest to reach it, so go first
+    int front = 0;
+    for (int i = 0; i < noOfActions; i++) {
+      int action = actions[i];
+      int target = getActionDistance(action) > 0 ? this.hitCave(action)
+              : getActionCell(action);
+      if (this.onPath[target] == this.reachedGeneration) {
+        actions[i] = actions[front];
+        actions[front++] = action;
+      }
+    }
+
+    if (depth == 0) {
+      this.rootBound = bound;
+    }
+
+    this.statesSolved += 1;
+    this.onStack.put(key, depth);
+    int outerCycle = this.shallowestCycle;
+    this.shallowestCycle = Integer.MAX_VALUE;
+
+    float best = -1;
+    int bestAction = NO_ACTION;
+    // certain outcomes first, then shots and steps, then gambles, which cannot beat a half;
+    // an action only needs searching for whether it beats the best so far
+    for (int pass = 0; pass < 3 && best < bound && !this.exhausted; pass++) {
+      for (int i = 0; i < noOfActions && best < bound && !this.exhausted; i++) {
+        int action = actions[i];
+        int target = getActionCell(action);
+        float beat = Math.max(floor, best);
+        float value;
+
+        if (getActionDistance(action) > 0) {
+          if (pass != 1) {
+            continue;
+          }
+          int m = this.monsterAt[this.hitCave(action)];
+          this.hit(m, 1);
+          value = this.solve(cell, arrows - 1, depth + 1, beat);
+          this.hit(m, -1);
+        } else if (target == this.end || (!this.isSafe(target)
+                && this.hits[this.monsterAt[target]] == 0)) {
+          if (pass != 0) {
+            continue;
+          }
+          value = target == this.end ? this.hits[this.monsterAt[target]] / 2f : 0;
+        } else if (this.isSafe(target)) {
+          if (pass != 1) {
+            continue;
+          }
+          value = this.solve(target, arrows, depth + 1, beat);
+        } else {
+          if (pass != 2) {
+            continue;
+          }
+          // surviving is a gamble, so a half is all the floor is told about when it is higher
+          value = beat >= 0.5f ? 0.5f : 0.5f * this.solve(target, arrows, depth + 1, 2 * beat);
+        }
+
+        if (value > best) {
+          best = value;
+          bestAction = action;
+        }
+      }
+    }
+    best = Math.max(best, 0);
+
+    this.onStack.remove(key);
+    if (this.exhausted) {
+      if (depth == 0) {
+        this.rootAction = bestAction != NO_ACTION ? bestAction : actions[0];
+      }
+      this.unpick(pickBase);
+      return bound;
+    }
+    // a state whose value assumed a shallower state on the stack lost is only right for now
+    if (this.shallowestCycle >= depth) {
+      // no action beating the floor leaves only a bound, as their searches stopped early
+      this.table.store(key, best, best > floor ? bestAction : UPPER_BOUND);
+      this.shallowestCycle = Integer.MAX_VALUE;
+    }
+    this.shallowestCycle = Math.min(this.shallowestCycle, outerCycle);
+
+    if (depth == 0) {
+      this.rootAction = bestAction;
+    }
+    this.unpick(pickBase);
+    return best;
+  }
+
+  private void readGame() {
+    this.hitsNeeded = 0;
+    this.hitsKey = 0;
+    for (int m = 0; m < this.monsterCells.length; m++) {
+      int taken = Math.min(DEAD, this.getLocation(this.monsterCells[m]).getMonster()
+              .getHitsTaken());
+      this.hits[m] = (byte) taken;
+      this.hitsKey ^= this.hitKeys[m * (DEAD + 1) + taken];
+      this.hitsNeeded += DEAD - taken;
+    }
+
+    this.pickedKey = 0;
+    this.arrowsLeft = 0;
+    for (int a = 0; a < this.arrowCells.length; a++) {
+      this.arrowCounts[a] = Collections.frequency(this.getLocation(this.arrowCells[a])
+              .getContent(), Weapon.ARROW);
+      this.arrowsLeft += this.arrowCounts[a];
+      this.picked[a] = this.arrowCounts[a] == 0;
+      if (this.picked[a]) {
+        this.pickedKey ^= this.pickedKeys[a];
+      }
+    }
+    this.pickTop = 0;
+    this.onStack.clear();
+    this.shallowestCycle = Integer.MAX_VALUE;
+    this.budgetEnd = this.statesVisited + this.maxStates;
+    this.exhausted = false;
+  }
+
+  private void hit(int monster, int change) {
+    int index = monster * (DEAD + 1) + this.hits[monster];
+    this.hitsKey ^= this.hitKeys[index] ^ this.hitKeys[index + change];
+    this.hits[monster] += change;
+    this.hitsNeeded -= change;
+  }
+
+  private void unpick(int base) {
+    while (this.pickTop > base) {
+      int a = this.pickStack[--this.pickTop];
+      this.picked[a] = false;
+      this.pickedKey ^= this.pickedKeys[a];
+      this.arrowsLeft += this.arrowCounts[a];
+    }
+  }
+
+  /**
+   * Finds the best chance of winning that the arrows within reach allow, whatever monsters they
+   * can hit. Every monster on the way to the end has to be shot to death or survived, an
+   * unharmed one taking two arrows or an arrow and a gamble, an injured one an arrow or a
+   * gamble. A shortest-path search where entering a cave costs what its monster needs finds the
+   * least any way to the end costs, and the arrows lying where a smaller cost reaches are the
+   * most that can be picked on the way, so whatever they and the arrows held do not cover is
+   * left to gambles.
+   */
+  private float upperBound(int count, int arrows) {
+    this.reachedGeneration += 1;
+    if (this.reachedGeneration == Integer.MAX_VALUE) {
+      Arrays.fill(this.reached, 0);
+      Arrays.fill(this.onPath, 0);
+      this.reachedGeneration = 1;
+    }
+
+    int[] sizes = new int[this.buckets.length];
+    for (int i = 0; i < count; i++) {
+      this.reached[this.queue[i]] = this.reachedGeneration;
+      this.cameFrom[this.queue[i]] = this.queue[i];
+      this.buckets[0][sizes[0]++] = this.queue[i];
+    }
+
+    int reachable = arrows;
+    int gambles = 0;
+    // without any arrow, unharmed monsters cannot be passed and the bound is the exact value
+    boolean unarmed = arrows + this.arrowsLeft == 0;
+
+    // costs are at most 2, so locations are kept in three buckets by their cost mod 3
+    for (int cost = 0; sizes[0] + sizes[1] + sizes[2] > 0; cost++) {
+      int[] bucket = this.buckets[cost % this.buckets.length];
+      for (int i = 0; i < sizes[cost % this.buckets.length]; i++) {
+        int id = bucket[i];
+        if (id == this.end) {
+          for (int on = id; this.onPath[on] != this.reachedGeneration;
+               on = this.cameFrom[on]) {
+            this.onPath[on] = this.reachedGeneration;
+          }
+          return gambles == 0 ? 1 : Math.scalb(1f, -gambles);
+        }
+
+        int a = this.arrowAt[id];
+        if (a >= 0 && !this.picked[a]) {
+          reachable += this.arrowCounts[a];
+        }
+
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+          int next = this.search.getNeighbour(id, d);
+          if (next != -1 && this.reached[next] != this.reachedGeneration) {
+            int enter = this.monsterAt[next] < 0 ? 0 : DEAD - this.hits[this.monsterAt[next]];
+            if (enter == DEAD && unarmed) {
+              continue;
+            }
+            int b = (cost + enter) % this.buckets.length;
+            this.reached[next] = this.reachedGeneration;
+            this.cameFrom[next] = id;
+            this.buckets[b][sizes[b]++] = next;
+          }
+        }
+      }
+      sizes[cost % this.buckets.length] = 0;
+
+      // going on past this cost takes one more arrow than was spent, from where it reaches
+      gambles = Math.max(gambles, cost + 1 - reachable);
+    }
+    return 0;
+  }
+
+  private boolean isSafe(int id) {
+    return id != this.end && (this.monsterAt[id] < 0 || this.hits[this.monsterAt[id]] == DEAD);
+  }
+
+  /**
+   * Marks the region the player can walk in safely from a location with the current generation,
+   * in the queue by increasing number of moves. The cave of a living monster the player is in
+   * is a region of its own, as leaving it cuts the way back.
+   */
+  private int fillRegion(int cell) {
+    this.nextGeneration();
+    this.stamp[cell] = this.generation;
+    this.queue[0] = cell;
+
+    if (!this.isSafe(cell)) {
+      return 1;
+    }
+
+    int tail = 1;
+    for (int head = 0; head < tail; head++) {
+      int id = this.queue[head];
+      for (int d = 0; d < DIRECTIONS.length; d++) {
+        int next = this.search.getNeighbour(id, d);
+        if (next != -1 && this.stamp[next] != this.generation && this.isSafe(next)) {
+          this.stamp[next] = this.generation;
+          this.queue[tail++] = next;
+        }
+      }
+    }
+    return tail;
+  }
+
+  /**
+   * Finds the direction of the first move on a shortest safe path to a location, which is
+   * entered last whether it is safe or not.
+   */
+  private int firstStep(int cell, int target) {
+    this.nextGeneration();
+    this.stamp[cell] = this.generation;
+    this.queue[0] = cell;
+
+    int tail = 1;
+    for (int head = 0; head < tail; head++) {
+      int id = this.queue[head];
+      for (int d = 0; d < DIRECTIONS.length; d++) {
+        int next = this.search.getNeighbour(id, d);
+        if (next == -1) {
+          continue;
+        }
+
+        int move = id == cell ? d : this.firstMove[id];
+        if (next == target) {
+          return move;
+        } else if (this.stamp[next] != this.generation && this.isSafe(next)) {
+          this.stamp[next] = this.generation;
+          this.firstMove[next] = move;
+          this.queue[tail++] = next;
+        }
+      }
+    }
+    throw new IllegalStateException("No safe path to the location!");
+  }
+
+  private void nextGeneration() {
+    this.generation += 1;
+    if (this.generation == Integer.MAX_VALUE) {
+      Arrays.fill(this.stamp, 0);
+      this.generation = 1;
+    }
+  }
+
+  private int hitCave(int shot) {
+    int id = getActionCell(shot);
+    int direction = getActionDirection(shot);
+    for (int k = 0; k < getActionDistance(shot); k++) {
+      int ray = this.rays.next(id, direction);
+      id = ArrowRays.getCave(ray);
+      direction = ArrowRays.getDirection(ray);
+    }
+    return id;
+  }
+
+  /**
+   * Finds, for every monster, the locations, directions and distances an arrow hits its cave
+   * from, following the flight of arrows in the game.
+   */
+  private int[][] findShots() {
+    int[] counts = new int[this.monsterCells.length];
+    int[][] found = new int[this.monsterCells.length][];
+
+    for (int pass = 0; pass < 2; pass++) {
+      for (int m = 0; m < found.length; m++) {
+        if (pass == 1) {
+          found[m] = new int[counts[m]];
+          counts[m] = 0;
+        }
+      }
+
+      for (int from = 0; from < this.search.size(); from++) {
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+          if (!this.rays.hasPath(from, d)) {
+            continue;
+          }
+
+          int id = from;
+          int direction = d;
+          for (int k = 1; k <= MAX_DISTANCE; k++) {
+            int ray = this.rays.next(id, direction);
+            if (ray < 0) {
+              break;
+            }
+            id = ArrowRays.getCave(ray);
+            direction = ArrowRays.getDirection(ray);
+
+            int m = this.monsterAt[id];
+            if (m >= 0) {
+              if (pass == 1) {
+                found[m][counts[m]] = toAction(from, d, k);
+              }
+              counts[m] += 1;
+            }
+            if (!this.rays.hasPath(id, direction)) {
+              break;
+            }
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  private Location getLocation(int id) {
+    return this.dungeon.getLocation(this.search.toRow(id), this.search.toCol(id));
+  }
+
+  /**
+   * Packs an action as (location id * 4 + direction ordinal) * 8 + distance, where a distance
+   * of 0 moves into the location and any other distance shoots from it.
+   */
+  private static int toAction(int id, int direction, int distance) {
+    return (id * 4 + direction) * 8 + distance;
+  }
+
+  private static int getActionCell(int action) {
+    return action >>> 5;
+  }
+
+  private static int getActionDirection(int action) {
+    return (action >>> 3) & 3;
+  }
+
+  private static int getActionDistance(int action) {
+    return action & 7;
+  }
+}
@@ -0,0 +1,342 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a reusable breadth-first search over the locations of a dungeon grid.
+ * Locations are addressed by integer ids (row * columns + column). The neighbours of every
+ * location are looked up once when the search is constructed, and the queue and visited
+ * markers are preallocated, so running a search does not allocate anything.
+ *
+ * <p>A search instance keeps state between calls and is not safe for use by multiple threads.
+ */
+class GridSearch {
+  private static final int NO_NEIGHBOUR = -1;
+  private static final int UNREACHABLE = -1;
+
+  private final int rows;
+  private final int cols;
+  private final int[] neighbours;
+
+  private final int[] queue;
+  private final int[] depth;
+  private final int[] visitedStamp;
+  private int generation;
+
+  /**
+   * Constructs a search over the given dungeon grid.
+   *
+   * @param grid the 2D grid of dungeon locations
+   * @throws IllegalArgumentException if the grid is null or empty
+   */
+  GridSearch(Location[][] grid) throws IllegalArgumentException {
+    this(rowsOf(grid), grid[0].length, neighboursOf(grid));
+  }
+
+  /**
+   * Constructs a search over a grid given as direction masks, where bit (1 << direction ordinal)
+   * of the mask of a location is set for every direction that leads away from it.
+   * Neighbours wrap around the grid edges.
+   *
+   * @param rows           the number of rows in the grid
+   * @param cols           the number of columns in the grid
+   * @param directionMasks the direction masks indexed by location id
+   * @throws IllegalArgumentException if the grid is empty or the masks do not cover it
+   */
+  GridSearch(int rows, int cols, byte[] directionMasks) throws IllegalArgumentException {
+    this(rows, cols, neighboursOf(rows, cols, directionMasks));
+  }
+
+  private GridSearch(int rows, int cols, int[] neighbours) {
+    this.rows = rows;
+    this.cols = cols;
+    this.neighbours = neighbours;
+
+    int noOfCells = this.rows * this.cols;
+    this.queue = new int[noOfCells];
+    this.depth = new int[noOfCells];
+    this.visitedStamp = new int[noOfCells];
+    this.generation = 0;
+  }
+
+  /**
+   * Constructs a search over the given dungeon, reading its paths without materializing
+   * its locations when the dungeon is a {@link CompactDungeon}.
+   *
+   * @param dungeon the dungeon to search
+   * @return a new search over the dungeon
+   * @throws IllegalArgumentException if the dungeon is null
+   */
+  static GridSearch of(IDungeon dungeon) throws IllegalArgumentException {
+    if (dungeon == null) {
+      throw new IllegalArgumentException("Dungeon to search cannot be null!");
+    }
+
+    if (dungeon instanceof CompactDungeon) {
+      CompactDungeon compact = (CompactDungeon) dungeon;
+      return new GridSearch(compact.getRows(), compact.getColumns(),
+              compact.getDirectionMasks());
+    }
+    return new GridSearch(dungeon.getDungeonGrid());
+  }
+
+  private static int rowsOf(Location[][] grid) {
+    if (grid == null || grid.length == 0 || grid[0].length == 0) {
+      throw new IllegalArgumentException("Grid to search cannot be empty!");
+    }
+    return grid.length;
+  }
+
+  private static int[] neighboursOf(Location[][] grid) {
+    int rows = grid.length;
+    int cols = grid[0].length;
+    int[] neighbours = new int[rows * cols * 4];
+    Arrays.fill(neighbours, NO_NEIGHBOUR);
+
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        Location cell = grid[row][col];
+        int id = row * cols + col;
+
+        int mask = cell.getDirectionMask();
+
+        for (Direction d : Direction.values()) {
+          if ((mask & (1 << d.ordinal())) != 0) {
+            neighbours[id * 4 + d.ordinal()] = cell.getNeighbourId(d);
+          }
+        }
+      }
+    }
+    return neighbours;
+  }
+
+  private static int[] neighboursOf(int rows, int cols, byte[] directionMasks) {
+    if (rows <= 0 || cols <= 0) {
+      throw new IllegalArgumentException("Grid to search cannot be empty!");
+    } else if (directionMasks == null || directionMasks.length < rows * cols) {
+      throw new IllegalArgumentException("Direction masks should cover the whole grid!");
+    }
+
+    int[] neighbours = new int[rows * cols * 4];
+    Arrays.fill(neighbours, NO_NEIGHBOUR);
+
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int id = row * cols + col;
+        int mask = directionMasks[id];
+
+        if ((mask & (1 << Direction.NORTH.ordinal())) != 0) {
+          neighbours[id * 4 + Direction.NORTH.ordinal()] = ((row + rows - 1) % rows) * cols + col;
+        }
+        if ((mask & (1 << Direction.SOUTH.ordinal())) != 0) {
+          neighbours[id * 4 + Direction.SOUTH.ordinal()] = ((row + 1) % rows) * cols + col;
+        }
+        if ((mask & (1 << Direction.EAST.ordinal())) != 0) {
+          neighbours[id * 4 + Direction.EAST.ordinal()] = row * cols + (col + 1) % cols;
+        }
+        if ((mask & (1 << Direction.WEST.ordinal())) != 0) {
+          neighbours[id * 4 + Direction.WEST.ordinal()] = row * cols + (col + cols - 1) % cols;
+        }
+      }
+    }
+    return neighbours;
+  }
+
+  /**
+   * Converts grid coordinates to a location id.
+   *
+   * @param row the row of the location
+   * @param col the column of the location
+   * @return the location id
+   */
+  int toId(int row, int col) {
+    return row * this.cols + col;
+  }
+
+  /**
+   * Converts a location id to the row of the location.
+   *
+   * @param id the location id
+   * @return the row of the location
+   */
+  int toRow(int id) {
+    return id / this.cols;
+  }
+
+  /**
+   * Converts a location id to the column of the location.
+   *
+   * @param id the location id
+   * @return the column of the location
+   */
+  int toCol(int id) {
+    return id % this.cols;
+  }
+
+  /**
+   * Retrieves the neighbour of a location in a direction.
+   *
+   * @param id        the location id
+   * @param direction the ordinal of the direction
+   * @return the id of the neighbour, or -1 if there is no path in that direction
+   */
+  int getNeighbour(int id, int direction) {
+    return this.neighbours[id * 4 + direction];
+  }
+
+  /**
+   * Retrieves the number of locations in the searched grid.
+   *
+   * @return the number of location ids
+   */
+  int size() {
+    return this.rows * this.cols;
+  }
+
+  /**
+   * Finds the shortest distance between two locations, stopping as soon as the target is reached.
+   *
+   * @param source the id of the location to start from
+   * @param target the id of the location to reach
+   * @return the number of moves from source to target, or -1 if the target is unreachable
+   */
+  int distance(int source, int target) {
+    if (source == target) {
+      return 0;
+    }
+
+    this.start(source);
+    int head = 0;
+    int tail = 1;
+
+    while (head != tail) {
+      int id = this.queue[head];
+      head += 1;
+
+      for (int i = id * 4; i < id * 4 + 4; i++) {
+        int child = this.neighbours[i];
+
+        if (child != NO_NEIGHBOUR && this.visitedStamp[child] != this.generation) {
+          if (child == target) {
+            return this.depth[id] + 1;
+          }
+
+          this.visit(child, this.depth[id] + 1);
+          this.queue[tail] = child;
+          tail += 1;
+        }
+      }
+    }
+
+    return UNREACHABLE;
+  }
+
+  /**
+   * Computes the shortest distance from a location to every location in the grid.
+   *
+   * @param source    the id of the location to start from
+   * @param distances the array to fill, indexed by location id, of at least {@link #size()}
+   *                  length, unreachable locations get -1
+   * @return the given distances array
+   */
+  int[] distancesFrom(int source, int[] distances) {
+    Arrays.fill(distances, 0, this.size(), UNREACHABLE);
+
+    this.start(source);
+    distances[source] = 0;
+    int head = 0;
+    int tail = 1;
+
+    while (head != tail) {
+      int id = this.queue[head];
+      head += 1;
+
+      for (int i = id * 4; i < id * 4 + 4; i++) {
+        int child = this.neighbours[i];
+
+        if (child != NO_NEIGHBOUR && this.visitedStamp[child] != this.generation) {
+          this.visit(child, this.depth[id] + 1);
+          distances[child] = this.depth[child];
+          this.queue[tail] = child;
+          tail += 1;
+        }
+      }
+    }
+
+    return distances;
+  }
+
+  /**
+   * Finds the locations within a given number of moves of a location, the location itself
+   * included at zero moves. The locations found can be read with {@link #getFound(int)} and
+   * {@link #getDepth(int)} until the next search is run.
+   *
+   * @param source   the id of the location to start from
+   * @param maxDepth the maximum number of moves away from the source to look
+   * @return the number of locations found
+   */
+  int searchWithin(int source, int maxDepth) {
+    this.start(source);
+    int head = 0;
+    int tail = 1;
+
+    while (head != tail) {
+      int id = this.queue[head];
+      head += 1;
+
+      if (this.depth[id] == maxDepth) {
+        continue;
+      }
+
+      for (int i = id * 4; i < id * 4 + 4; i++) {
+        int child = this.neighbours[i];
+
+        if (child != NO_NEIGHBOUR && this.visitedStamp[child] != this.generation) {
+          this.visit(child, this.depth[id] + 1);
+          this.queue[tail] = child;
+          tail += 1;
+        }
+      }
+    }
+
+    return tail;
+  }
+
+  /**
+   * Retrieves a location found by the last {@link #searchWithin(int, int)}, in the order
+   * they were found, i.e., by increasing number of moves from the source.
+   *
+   * @param index the index of the location among the ones found
+   * @return the location id
+   */
+  int getFound(int index) {
+    return this.queue[index];
+  }
+
+  /**
+   * Retrieves the number of moves a location found by the last search is away from its source.
+   *
+   * @param id the id of a location found by the last search
+   * @return the number of moves from the source
+   */
+  int getDepth(int id) {
+    return this.depth[id];
+  }
+
+  private void start(int source) {
+    this.generation += 1;
+    if (this.generation == 0) {
+      // stamps wrapped around, forget every old visit
+      Arrays.fill(this.visitedStamp, 0);
+      this.generation = 1;
+    }
+
+    this.visit(source, 0);
+    this.queue[0] = source;
+  }
+
+  private void visit(int id, int depth) {
+    this.visitedStamp[id] = this.generation;
+    this.depth[id] = depth;
+  }
+}
@@ -51,4 +51,11 @@ public interface IDungeon {
    * @return the 2D array representing the dungeon grid
    */
   Location[][] getDungeonGrid();
+
+  /**
+   * Checks if the paths of the game dungeon may wrap around the edges of its grid.
+   *
+   * @return true if the dungeon was built as a wrapping dungeon, else false
+   */
+  boolean isWrapping();
 }
@@ -0,0 +1,82 @@
+package model;
+
+/**
+ * This class represents the positions 0 to n - 1 of an ordered list as a Fenwick tree.
+ * Positions can be removed and the k-th remaining position can be found in logarithmic time,
+ * which mimics picking and removing elements by index from a list without shifting any of them.
+ */
+class IndexTree {
+  private final int[] tree;
+  private final int highestBit;
+  private int size;
+
+  /**
+   * Constructs an index tree where all the given number of positions are present.
+   *
+   * @param size the number of positions
+   * @throws IllegalArgumentException if the size is negative
+   */
+  IndexTree(int size) throws IllegalArgumentException {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size of the index tree cannot be negative!");
+    }
+
+    this.tree = new int[size + 1];
+    this.size = size;
+
+    for (int i = 1; i <= size; i++) {
+      this.tree[i] = i & -i;
+    }
+
+    this.highestBit = size == 0 ? 0 : Integer.highestOneBit(size);
+  }
+
+  /**
+   * Retrieves the number of positions still present.
+   *
+   * @return the number of remaining positions
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Finds the position that is k-th among the remaining positions, counting from 0.
+   *
+   * @param k the rank of the position among the remaining ones
+   * @return the original position
+   * @throws IllegalArgumentException if k is not less than the number of remaining positions
+   */
+  int get(int k) throws IllegalArgumentException {
+    if (k < 0 || k >= this.size) {
+      throw new IllegalArgumentException("Index " + k + " out of bounds for index tree!");
+    }
+
+    int position = 0;
+    int remaining = k + 1;
+
+    for (int step = this.highestBit; step > 0; step >>= 1) {
+      int next = position + step;
+      if (next < this.tree.length && this.tree[next] < remaining) {
+        position = next;
+        remaining -= this.tree[next];
+      }
+    }
+
+    return position;
+  }
+
+  /**
+   * Removes the given original position.
+   * The position should still be present, i.e., a result of {@link #get(int)}.
+   *
+   * @param position the original position to remove
+   */
+  void remove(int position) {
+    for (int i = position + 1; i < this.tree.length; i += i & -i) {
+      this.tree[i] -= 1;
+    }
+
+    this.size -= 1;
+  }
+}
@@ -0,0 +1,91 @@
+package model;
+
+import java.util.Map;
+
+/**
+ * This class represents the items held by the player and the items lying at the player's
+ * location at one point in the game, counted per kind of item. Every action that may change them
+ * gives the game a new version, so a view can tell from the version alone whether anything it
+ * shows needs to change.
+ */
+public final class InventorySnapshot {
+  private final long version;
+  private final int[] playerTreasure;
+  private final int playerArrows;
+  private final int[] locationTreasure;
+  private final int locationArrows;
+
+  /**
+   * Constructs a snapshot of the items held by a player and lying at its location.
+   *
+   * @param version the version of the game the snapshot is taken at
+   * @param player  the player
+   */
+  InventorySnapshot(long version, IPlayer player) {
+    this.version = version;
+    this.playerTreasure = new int[Treasure.values().length];
+    this.locationTreasure = new int[Treasure.values().length];
+
+    for (Map.Entry<Treasure, Integer> entry : player.getTreasureCollected().entrySet()) {
+      this.playerTreasure[entry.getKey().ordinal()] = entry.getValue();
+    }
+    this.playerArrows = player.getArrowsLeft();
+
+    int arrows = 0;
+    for (Item item : player.getCurrentLocation().getContent()) {
+      if (item instanceof Treasure) {
+        this.locationTreasure[((Treasure) item).ordinal()] += 1;
+      } else if (item == Weapon.ARROW) {
+        arrows += 1;
+      }
+    }
+    this.locationArrows = arrows;
+  }
+
+  /**
+   * Retrieves the version of the game the snapshot was taken at.
+   *
+   * @return the version, the same for as long as the counts stay the same
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Retrieves the quantity of a treasure collected by the player.
+   *
+   * @param t the treasure
+   * @return the quantity collected
+   */
+  public int getPlayerTreasure(Treasure t) {
+    return this.playerTreasure[t.ordinal()];
+  }
+
+  /**
+   * Retrieves the number of arrows left with the player.
+   *
+   * @return the number of arrows
+   */
+  public int getPlayerArrows() {
+    return this.playerArrows;
+  }
+
+  /**
+   * Retrieves the quantity of a treasure lying at the player's location.
+   *
+   * @param t the treasure
+   * @return the quantity at the location
+   */
+  public int getLocationTreasure(Treasure t) {
+    return this.locationTreasure[t.ordinal()];
+  }
+
+  /**
+   * Retrieves the number of arrows lying at the player's location.
+   *
+   * @return the number of arrows
+   */
+  public int getLocationArrows() {
+    return this.locationArrows;
+  }
+}
@@ -33,6 +33,30 @@ public interface Location {
    */
   int[] getNeighbour(Direction d);
 
+  /**
+   * Retrieves the id of the location on the 2D grid, i.e., row * number of columns + column.
+   *
+   * @return the location id
+   */
+  int getId();
+
+  /**
+   * Retrieves the possible directions the player can move from the current location as a mask,
+   * where bit (1 << d.ordinal()) is set if direction d is possible.
+   *
+   * @return the direction mask
+   */
+  int getDirectionMask();
+
+  /**
+   * Retrieves the id of the neighbor of a location in the given direction.
+   *
+   * @param d the given direction to move a player
+   * @return the id of the neighbor
+   * @throws IllegalArgumentException if the direction is null or there is no path in it
+   */
+  int getNeighbourId(Direction d);
+
   /**
    * Retrieves the treasure contents of the location as a list.
    *
@@ -0,0 +1,21 @@
+package model;
+
+/**
+ * The MazeEngine enum class represents the algorithms available for carving the paths of a
+ * game dungeon. Both engines build a spanning tree of the grid using Kruskal's algorithm and
+ * then add extra paths for interconnectivity, but they differ in the order they consider paths.
+ */
+public enum MazeEngine {
+  /**
+   * The original engine. It reproduces the exact dungeon layouts of earlier versions of the
+   * game for a given seed, at the cost of building every candidate path as a string.
+   */
+  CLASSIC,
+
+  /**
+   * The integer engine. It works on integer cell ids and primitive arrays only and is meant
+   * for very large dungeons. Layouts are deterministic for a given seed but differ from
+   * the classic engine.
+   */
+  UNION_FIND;
+}
@@ -0,0 +1,69 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents a change to the state of the adventure game caused by one action of the
+ * player. It tells which locations of the dungeon look different afterwards and whether the
+ * player or the items the player holds changed, so that views can redraw only those parts.
+ */
+public final class ModelChange {
+  private final List<int[]> changedCells;
+  private final boolean playerChanged;
+  private final boolean inventoryChanged;
+
+  /**
+   * Constructs a model change.
+   *
+   * @param changedCells     the (x, y) coordinates of the locations that changed
+   * @param playerChanged    if the location or the state of the player changed
+   * @param inventoryChanged if the treasure or arrows held by the player changed
+   * @throws IllegalArgumentException if the changed locations are null
+   */
+  public ModelChange(List<int[]> changedCells, boolean playerChanged, boolean inventoryChanged)
+          throws IllegalArgumentException {
+    if (changedCells == null) {
+      throw new IllegalArgumentException("Changed locations cannot be null!");
+    }
+
+    this.changedCells = new ArrayList<>();
+    for (int[] xy : changedCells) {
+      this.changedCells.add(new int[]{xy[0], xy[1]});
+    }
+    this.playerChanged = playerChanged;
+    this.inventoryChanged = inventoryChanged;
+  }
+
+  /**
+   * Retrieves the locations that changed, e.g., the locations the player left and entered,
+   * or the cave an arrow hit a monster in.
+   *
+   * @return the (x, y) coordinates of the changed locations as 2-length integer arrays
+   */
+  public List<int[]> getChangedCells() {
+    List<int[]> copy = new ArrayList<>();
+    for (int[] xy : this.changedCells) {
+      copy.add(new int[]{xy[0], xy[1]});
+    }
+    return copy;
+  }
+
+  /**
+   * Checks if the location or the state of the player changed.
+   *
+   * @return true if the player moved, died or won, else false
+   */
+  public boolean isPlayerChanged() {
+    return this.playerChanged;
+  }
+
+  /**
+   * Checks if the treasure or arrows held by the player changed.
+   *
+   * @return true if the player picked an item or shot an arrow, else false
+   */
+  public boolean isInventoryChanged() {
+    return this.inventoryChanged;
+  }
+}
@@ -0,0 +1,15 @@
+package model;
+
+/**
+ * This interface represents a listener that is told about every change to the state of the
+ * adventure game, right after the action causing it.
+ */
+public interface ModelChangeListener {
+
+  /**
+   * Called after an action of the player changed the state of the game.
+   *
+   * @param change the parts of the game that changed
+   */
+  void modelChanged(ModelChange change);
+}
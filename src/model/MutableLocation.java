@@ -0,0 +1,35 @@
+package model;
+
+/**
+ * This class represents a Location whose state can be changed by the game model, i.e.,
+ * items being picked up, smell being detected and the location being visited by the player.
+ * It keeps these operations package-private, whatever the storage behind the location is.
+ */
+abstract class MutableLocation implements Location {
+
+  /**
+   * Adds an item to the location.
+   *
+   * @param item the item to be added
+   */
+  abstract void fill(Item item);
+
+  /**
+   * Removes an item from the location, if present.
+   *
+   * @param item the item to be removed
+   */
+  abstract void pop(Item item);
+
+  /**
+   * Updates the smell detected at the location.
+   *
+   * @param smell the intensity of smell detected
+   */
+  abstract void updateSmell(Smell smell);
+
+  /**
+   * Marks the location as visited by the player.
+   */
+  abstract void markVisited();
+}
@@ -0,0 +1,50 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This class represents the best way of playing the adventure game, for a player who knows where
+ * every monster and arrow is. The dungeon of a game is solved by a {@link GameSolver} on the
+ * first turn of the game; from then on the player picks up every arrow it can reach safely and
+ * then takes the action with the best chance of winning. The solver is kept for the game the
+ * policy plays, so a policy plays one game at a time.
+ */
+public class OptimalPolicy implements PlayerPolicy {
+  private static final int DEFAULT_TABLE_SIZE = 1 << 16;
+
+  private final int tableSize;
+  private ReadonlyGameModel game;
+  private GameSolver solver;
+
+  /**
+   * Constructs a policy keeping a small table of solved states, enough for the dungeons played
+   * in bulk by simulations.
+   */
+  public OptimalPolicy() {
+    this(DEFAULT_TABLE_SIZE);
+  }
+
+  /**
+   * Constructs a policy keeping up to the given number of solved states per game.
+   *
+   * @param tableSize the maximum number of solved states kept
+   * @throws IllegalArgumentException if the table size is not positive
+   */
+  public OptimalPolicy(int tableSize) throws IllegalArgumentException {
+    if (tableSize <= 0) {
+      throw new IllegalArgumentException("Table size should be positive!");
+    }
+
+    this.tableSize = tableSize;
+  }
+
+  @Override
+  public void takeTurn(GameModel game, Random random) {
+    if (game != this.game) {
+      this.solver = new GameSolver(game, this.tableSize);
+      this.game = game;
+    }
+
+    this.solver.playTurn(game);
+  }
+}
@@ -28,17 +28,17 @@ public class Otyugh implements Monster {
   }
 
   /**
-   * Determines if the Otyugh can eat the player.
+   * Determines if the Otyugh can eat the player. An Otyugh hit by one arrow eats the player
+   * half of the time.
    *
+   * @param random the random deciding the fights with injured Otyughs
    * @return true if the Otyugh can eat the player, else false
    */
-  boolean eatPlayer() {
-    Random rand = new Random();
-
+  boolean eatPlayer(Random random) {
     if (this.hitsTaken == 0) {
       return true;
     } else if (this.hitsTaken == 1) {
-      return rand.nextInt(2) == 0;
+      return random.nextInt(2) == 0;
     } else {
       return false;
     }
@@ -1,10 +1,9 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * This class represents the Player in the dungeon adventure game.
@@ -27,8 +26,8 @@ public class Player implements IPlayer {
     }
 
     this.currLocation = startLocation;
-    ((Cell) this.currLocation).markVisited();
-    this.treasureCollected = new HashMap<>();
+    ((MutableLocation) this.currLocation).markVisited();
+    this.treasureCollected = new EnumMap<>(Treasure.class);
     this.arrows = new ArrayList<>(List.of(Weapon.ARROW, Weapon.ARROW, Weapon.ARROW));
     this.alive = true;
   }
@@ -40,7 +39,7 @@ public class Player implements IPlayer {
    */
   void updateLocation(Location newLocation) {
     this.currLocation = newLocation;
-    ((Cell) this.currLocation).markVisited();
+    ((MutableLocation) this.currLocation).markVisited();
   }
 
   /**
@@ -50,7 +49,7 @@ public class Player implements IPlayer {
    */
   void pickTreasure(Treasure t) {
     this.treasureCollected.put(t, treasureCollected.getOrDefault(t, 0) + 1);
-    ((Cell) this.currLocation).pop(t);
+    ((MutableLocation) this.currLocation).pop(t);
   }
 
   /**
@@ -60,7 +59,7 @@ public class Player implements IPlayer {
    */
   void pickArrow(Weapon w) {
     this.arrows.add(w);
-    ((Cell) this.currLocation).pop(w);
+    ((MutableLocation) this.currLocation).pop(w);
   }
 
   /**
@@ -84,10 +83,7 @@ public class Player implements IPlayer {
 
   @Override
   public Map<Treasure, Integer> getTreasureCollected() {
-    Map<Treasure, Integer> treasureCollectedCopy = this.treasureCollected.entrySet().stream()
-            .collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue()));
-
-    return treasureCollectedCopy;
+    return new EnumMap<>(this.treasureCollected);
   }
 
   @Override
@@ -0,0 +1,21 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This interface represents a way of playing the adventure game without a user, e.g., for
+ * simulating many games. A policy plays one turn at a time through direct calls on the model.
+ */
+public interface PlayerPolicy {
+  /**
+   * Plays one turn of a game that is not over yet, i.e., moves the player, picks an item or
+   * shoots an arrow. A turn whose action is not allowed is lost.
+   *
+   * @param game   the game to play
+   * @param random the random stream of this game, for the choices of the policy
+   * @throws IllegalArgumentException if the action is not allowed at the player's location
+   * @throws IllegalStateException    if the action is not allowed in the player's state
+   */
+  void takeTurn(GameModel game, Random random)
+          throws IllegalArgumentException, IllegalStateException;
+}
@@ -0,0 +1,48 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This class represents a simple way of playing the adventure game. The player picks up every
+ * item it finds, shoots one cave away in a random open direction when a monster smells strongly,
+ * and otherwise moves in a random open direction. It keeps no state, so one policy can play any
+ * number of games at once.
+ */
+public class RandomWalkPolicy implements PlayerPolicy {
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  @Override
+  public void takeTurn(GameModel game, Random random) {
+    Location location = game.getPlayer().getCurrentLocation();
+    InventorySnapshot items = game.getInventorySnapshot();
+
+    if (items.getLocationArrows() > 0) {
+      game.pickItem(Weapon.ARROW);
+      return;
+    }
+    for (Treasure t : Treasure.values()) {
+      if (items.getLocationTreasure(t) > 0) {
+        game.pickItem(t);
+        return;
+      }
+    }
+
+    Direction direction = randomOpenDirection(location.getDirectionMask(), random);
+    if (location.getSmell() == Smell.MORE_PUNGENT && items.getPlayerArrows() > 0) {
+      game.shootArrow(direction, 1);
+    } else {
+      game.movePlayer(direction);
+    }
+  }
+
+  private static Direction randomOpenDirection(int mask, Random random) {
+    int choice = random.nextInt(Integer.bitCount(mask));
+
+    for (Direction d : DIRECTIONS) {
+      if ((mask & (1 << d.ordinal())) != 0 && choice-- == 0) {
+        return d;
+      }
+    }
+    throw new IllegalStateException("Location has no open direction!");
+  }
+}
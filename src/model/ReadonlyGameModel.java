@@ -33,6 +33,14 @@ public interface ReadonlyGameModel {
    */
   Location getGameEnd();
 
+  /**
+   * Retrieves the counts of the items held by the player and lying at the player's location.
+   * The same snapshot is returned for as long as none of them change.
+   *
+   * @return the snapshot of the items at the current version of the game
+   */
+  InventorySnapshot getInventorySnapshot();
+
   /**
    * Checks whether the game is over. The game is over when either the player reaches the
    * end location alive or if a monster eats a player.
@@ -49,4 +57,19 @@ public interface ReadonlyGameModel {
    * @return the current game state as a string
    */
   String getGameState();
+
+  /**
+   * Registers a listener to be told about every change to the state of the game.
+   *
+   * @param listener the listener to add
+   * @throws IllegalArgumentException if the listener is null
+   */
+  void addModelChangeListener(ModelChangeListener listener);
+
+  /**
+   * Stops telling a listener about changes to the state of the game.
+   *
+   * @param listener the listener to remove
+   */
+  void removeModelChangeListener(ModelChangeListener listener);
 }
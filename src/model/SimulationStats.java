@@ -0,0 +1,259 @@
+package model;
+
+/**
+ * This class represents the outcome of simulating many adventure games, as totals over all the
+ * games: how they ended, how the player died and what the player did. Totals of different
+ * batches of games can be merged, so each worker of a simulation counts on its own.
+ */
+public class SimulationStats {
+  private long games;
+  private long failedBuilds;
+  private long wins;
+  private long deathsByUnharmedOtyugh;
+  private long deathsByInjuredOtyugh;
+  private long timeouts;
+  private long turns;
+  private long invalidTurns;
+  private long moves;
+  private long picks;
+  private long arrowsShot;
+  private long arrowsHit;
+  private long elapsedNanos;
+
+  /**
+   * Constructs the statistics of no games.
+   */
+  SimulationStats() {
+    // all totals start at zero
+  }
+
+  /**
+   * Counts a game whose dungeon could not be built.
+   */
+  void addFailedBuild() {
+    this.games += 1;
+    this.failedBuilds += 1;
+  }
+
+  /**
+   * Counts a game played to its end or to the turn limit.
+   *
+   * @param game         the state of the game at its end
+   * @param turns        the number of turns played
+   * @param invalidTurns the number of turns whose action was not allowed
+   * @param moves        the number of moves made
+   * @param picks        the number of items picked
+   * @param arrowsShot   the number of arrows shot
+   * @param arrowsHit    the number of arrows that hit a monster
+   */
+  void addGame(ReadonlyGameModel game, int turns, int invalidTurns, int moves, int picks,
+               int arrowsShot, int arrowsHit) {
+    this.games += 1;
+
+    if (!game.isGameOver()) {
+      this.timeouts += 1;
+    } else if (game.getPlayer().isAlive()) {
+      this.wins += 1;
+    } else if (game.getPlayer().getCurrentLocation().getMonster().getHitsTaken() == 0) {
+      this.deathsByUnharmedOtyugh += 1;
+    } else {
+      this.deathsByInjuredOtyugh += 1;
+    }
+
+    this.turns += turns;
+    this.invalidTurns += invalidTurns;
+    this.moves += moves;
+    this.picks += picks;
+    this.arrowsShot += arrowsShot;
+    this.arrowsHit += arrowsHit;
+  }
+
+  /**
+   * Adds the totals of other statistics to these.
+   *
+   * @param other the statistics to add
+   * @return these statistics
+   */
+  SimulationStats merge(SimulationStats other) {
+    this.games += other.games;
+    this.failedBuilds += other.failedBuilds;
+    this.wins += other.wins;
+    this.deathsByUnharmedOtyugh += other.deathsByUnharmedOtyugh;
+    this.deathsByInjuredOtyugh += other.deathsByInjuredOtyugh;
+    this.timeouts += other.timeouts;
+    this.turns += other.turns;
+    this.invalidTurns += other.invalidTurns;
+    this.moves += other.moves;
+    this.picks += other.picks;
+    this.arrowsShot += other.arrowsShot;
+    this.arrowsHit += other.arrowsHit;
+    return this;
+  }
+
+  /**
+   * Sets the wall-clock time the simulation took.
+   *
+   * @param elapsedNanos the elapsed time in nanoseconds
+   */
+  void setElapsedNanos(long elapsedNanos) {
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Retrieves the number of games simulated, including the ones whose dungeon was not built.
+   *
+   * @return the number of games
+   */
+  public long getGames() {
+    return this.games;
+  }
+
+  /**
+   * Retrieves the number of games whose dungeon could not be built from their seed.
+   *
+   * @return the number of failed builds
+   */
+  public long getFailedBuilds() {
+    return this.failedBuilds;
+  }
+
+  /**
+   * Retrieves the number of games the player won by reaching the end alive.
+   *
+   * @return the number of wins
+   */
+  public long getWins() {
+    return this.wins;
+  }
+
+  /**
+   * Retrieves the number of games the player was eaten in.
+   *
+   * @return the number of deaths
+   */
+  public long getDeaths() {
+    return this.deathsByUnharmedOtyugh + this.deathsByInjuredOtyugh;
+  }
+
+  /**
+   * Retrieves the number of games the player was eaten by an otyugh no arrow had hit.
+   *
+   * @return the number of deaths by unharmed otyughs
+   */
+  public long getDeathsByUnharmedOtyugh() {
+    return this.deathsByUnharmedOtyugh;
+  }
+
+  /**
+   * Retrieves the number of games the player was eaten by an otyugh hit by one arrow.
+   *
+   * @return the number of deaths by injured otyughs
+   */
+  public long getDeathsByInjuredOtyugh() {
+    return this.deathsByInjuredOtyugh;
+  }
+
+  /**
+   * Retrieves the number of games that were not over when the turn limit was reached.
+   *
+   * @return the number of timeouts
+   */
+  public long getTimeouts() {
+    return this.timeouts;
+  }
+
+  /**
+   * Retrieves the number of turns played over all games.
+   *
+   * @return the number of turns
+   */
+  public long getTurns() {
+    return this.turns;
+  }
+
+  /**
+   * Retrieves the number of turns whose action was not allowed, over all games.
+   *
+   * @return the number of invalid turns
+   */
+  public long getInvalidTurns() {
+    return this.invalidTurns;
+  }
+
+  /**
+   * Retrieves the number of moves made over all games.
+   *
+   * @return the number of moves
+   */
+  public long getMoves() {
+    return this.moves;
+  }
+
+  /**
+   * Retrieves the number of items picked over all games.
+   *
+   * @return the number of picks
+   */
+  public long getPicks() {
+    return this.picks;
+  }
+
+  /**
+   * Retrieves the number of arrows shot over all games.
+   *
+   * @return the number of arrows used
+   */
+  public long getArrowsShot() {
+    return this.arrowsShot;
+  }
+
+  /**
+   * Retrieves the number of arrows that hit a monster over all games.
+   *
+   * @return the number of hits
+   */
+  public long getArrowsHit() {
+    return this.arrowsHit;
+  }
+
+  /**
+   * Retrieves the share of the played games the player won.
+   *
+   * @return the win rate between 0 and 1, or 0 if no game was played
+   */
+  public double getWinRate() {
+    long played = this.games - this.failedBuilds;
+    return played == 0 ? 0 : (double) this.wins / played;
+  }
+
+  /**
+   * Retrieves the wall-clock time the simulation took.
+   *
+   * @return the elapsed time in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  /**
+   * Retrieves the throughput of the simulation.
+   *
+   * @return the number of games simulated per second
+   */
+  public double getGamesPerSecond() {
+    if (this.elapsedNanos == 0) {
+      return 0;
+    }
+    return this.games * 1e9 / this.elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d games (%d not built): %d wins, %d deaths (%d unharmed, "
+                    + "%d injured otyugh), %d timeouts; %d turns, %d moves, %d picks, "
+                    + "%d arrows shot, %d hit; %.0f games/s",
+            this.games, this.failedBuilds, this.wins, this.getDeaths(),
+            this.deathsByUnharmedOtyugh, this.deathsByInjuredOtyugh, this.timeouts, this.turns,
+            this.moves, this.picks, this.arrowsShot, this.arrowsHit, this.getGamesPerSecond());
+  }
+}
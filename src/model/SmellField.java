@@ -0,0 +1,77 @@
+package model;
+
+import java.util.function.IntPredicate;
+
+/**
+ * This class represents the smell of living monsters over a whole dungeon. For every location
+ * it keeps how many living monsters are within one and within two moves of it, so that the smell
+ * at a location is a lookup. Monsters never move, so the counts only change when a monster dies,
+ * and then only for the locations within two moves of it.
+ *
+ * <p>The counts are stored as bytes, as no location has more than thirteen locations within
+ * two moves of it.
+ */
+class SmellField {
+  private static final int RADIUS = 2;
+
+  private final GridSearch search;
+  private final byte[] withinOne;
+  private final byte[] withinTwo;
+
+  /**
+   * Constructs the smell field of the monsters in a dungeon.
+   *
+   * @param search        the search over the dungeon grid, used only from the calling thread
+   * @param livingMonster the condition on location ids telling if a living monster dwells there
+   */
+  SmellField(GridSearch search, IntPredicate livingMonster) {
+    this.search = search;
+    this.withinOne = new byte[search.size()];
+    this.withinTwo = new byte[search.size()];
+
+    for (int id = 0; id < search.size(); id++) {
+      if (livingMonster.test(id)) {
+        this.update(id, 1);
+      }
+    }
+  }
+
+  /**
+   * Removes a monster that just died from the smell field.
+   *
+   * @param id the id of the location the monster dwells in
+   */
+  void monsterKilled(int id) {
+    this.update(id, -1);
+  }
+
+  /**
+   * Retrieves the smell at a location.
+   *
+   * @param id the location id
+   * @return the intensity of smell at the location
+   */
+  Smell getSmell(int id) {
+    if (this.withinOne[id] > 0 || this.withinTwo[id] > 1) {
+      return Smell.MORE_PUNGENT;
+    } else if (this.withinTwo[id] == 1) {
+      return Smell.LESS_PUNGENT;
+    }
+    return Smell.NONE;
+  }
+
+  private void update(int monster, int change) {
+    // paths go both ways, so the locations within reach of the monster are the ones it is
+    // within reach of
+    int found = this.search.searchWithin(monster, RADIUS);
+
+    for (int i = 0; i < found; i++) {
+      int id = this.search.getFound(i);
+
+      if (this.search.getDepth(id) <= 1) {
+        this.withinOne[id] += change;
+      }
+      this.withinTwo[id] += change;
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package model;
+
+/**
+ * This class represents a table of solved game states of a fixed size, so that solving a
+ * dungeon takes bounded memory however many states it reaches. States are looked up by a 64-bit
+ * hash of the state alone, which two different states of one dungeon practically never share.
+ * Every state has a few slots it can be stored in; when all of them are taken, the first one is
+ * overwritten, and the state it held is solved again should it be reached again.
+ *
+ * <p>Key 0 marks an empty slot and cannot be stored.
+ */
+class TranspositionTable {
+  private static final int PROBES = 4;
+
+  private final long[] keys;
+  private final float[] values;
+  private final int[] actions;
+  private final int mask;
+  private int size;
+
+  /**
+   * Constructs an empty table of at most the given number of states.
+   *
+   * @param capacity the maximum number of states, rounded down to a power of two
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  TranspositionTable(int capacity) throws IllegalArgumentException {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Table capacity should be positive!");
+    }
+
+    int slots = Integer.highestOneBit(capacity);
+    this.keys = new long[slots];
+    this.values = new float[slots];
+    this.actions = new int[slots];
+    this.mask = slots - 1;
+  }
+
+  /**
+   * Finds the slot a state is stored in.
+   *
+   * @param key the hash of the state
+   * @return the slot of the state, or -1 if it is not stored
+   */
+  int find(long key) {
+    int slot = (int) key & this.mask;
+
+    for (int i = 0; i < PROBES; i++) {
+      int probe = (slot + i) & this.mask;
+      if (this.keys[probe] == key) {
+        return probe;
+      } else if (this.keys[probe] == 0) {
+        // slots are never emptied, so the state was not stored further on either
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Retrieves the value of the state stored in a slot.
+   *
+   * @param slot the slot found by {@link #find(long)}
+   * @return the value of the state
+   */
+  float getValue(int slot) {
+    return this.values[slot];
+  }
+
+  /**
+   * Retrieves the best action of the state stored in a slot.
+   *
+   * @param slot the slot found by {@link #find(long)}
+   * @return the action of the state
+   */
+  int getAction(int slot) {
+    return this.actions[slot];
+  }
+
+  /**
+   * Stores a state, in place of its old value if it is stored already.
+   *
+   * @param key    the hash of the state, not 0
+   * @param value  the value of the state
+   * @param action the best action of the state
+   */
+  void store(long key, float value, int action) {
+    int slot = (int) key & this.mask;
+    int victim = slot;
+
+    for (int i = 0; i < PROBES; i++) {
+      int probe = (slot + i) & this.mask;
+      if (this.keys[probe] == key || this.keys[probe] == 0) {
+        victim = probe;
+        break;
+      }
+    }
+
+    if (this.keys[victim] == 0) {
+      this.size += 1;
+    }
+    this.keys[victim] = key;
+    this.values[victim] = value;
+    this.actions[victim] = action;
+  }
+
+  /**
+   * Retrieves the number of slots taken.
+   *
+   * @return the number of states stored
+   */
+  int size() {
+    return this.size;
+  }
+}
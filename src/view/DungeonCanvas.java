@@ -0,0 +1,251 @@
+package view;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.event.MouseAdapter;
+import java.awt.image.VolatileImage;
+import java.util.Arrays;
+import javax.swing.JComponent;
+
+import controller.GuiGameFeatures;
+import model.Location;
+import model.ReadonlyGameModel;
+
+/**
+ * The DungeonCanvas class represents the map of the dungeon adventure game as a single component
+ * that paints the tiles of all grid locations itself. Only the tiles inside the area being
+ * repainted, e.g., the visible part of an enclosing scroll pane, are drawn, and clicks are mapped
+ * to grid locations by arithmetic, so the cost does not grow with the size of the dungeon.
+ *
+ * <p>Optionally the tiles around the visible area are composed into an accelerated back buffer,
+ * a {@link VolatileImage} kept across paints. Each paint draws into the buffer only the tiles
+ * that look different from the last time they were drawn, and then copies the buffer to the
+ * screen in a single blit. The buffer is rebuilt when its contents are lost, and the canvas falls
+ * back to drawing the tiles directly when no accelerated buffer is available.
+ */
+class DungeonCanvas extends JComponent implements DungeonMap {
+  static final int TILE_SIZE = 100;
+  // tiles buffered beyond each side of the visible area, so that scrolling reuses the buffer
+  private static final int BUFFER_MARGIN = 2;
+
+  private final ReadonlyGameModel model;
+  private final int rows;
+  private final int cols;
+
+  private boolean backBuffer;
+  private VolatileImage buffer;
+  private int bufferRow;
+  private int bufferCol;
+  private int bufferRows;
+  private int bufferCols;
+  private Image[] bufferTiles;
+
+  /**
+   * Constructs a DungeonCanvas object with the specified game model, drawing the tiles directly.
+   *
+   * @param m The ReadonlyGameModel representing the game model.
+   */
+  public DungeonCanvas(ReadonlyGameModel m) {
+    this(m, false);
+  }
+
+  /**
+   * Constructs a DungeonCanvas object with the specified game model and rendering mode.
+   *
+   * @param m          The ReadonlyGameModel representing the game model.
+   * @param backBuffer If the tiles are composed into an accelerated back buffer when available.
+   */
+  public DungeonCanvas(ReadonlyGameModel m, boolean backBuffer) {
+    this.model = m;
+    this.backBuffer = backBuffer;
+
+    Location[][] dungeon = this.model.getDungeon().getDungeonGrid();
+    this.rows = dungeon.length;
+    this.cols = dungeon[0].length;
+
+    this.setOpaque(true);
+    this.setPreferredSize(new Dimension(this.cols * TILE_SIZE, this.rows * TILE_SIZE));
+  }
+
+  @Override
+  public JComponent getComponent() {
+    return this;
+  }
+
+  @Override
+  public void addMouseListener(GuiGameFeatures f) {
+    MouseAdapter clickAdapter = new GameMouseAdapter(f, this.model);
+    this.addMouseListener(clickAdapter);
+  }
+
+  @Override
+  public void repaintCell(int row, int col) {
+    this.repaint(col * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+  }
+
+  /**
+   * Retrieves the row of the grid location at a vertical position on the canvas.
+   *
+   * @param y The vertical position in pixels.
+   * @return The row index, or -1 if the position is outside the grid.
+   */
+  int getRowAt(int y) {
+    int row = Math.floorDiv(y, TILE_SIZE);
+    return row < this.rows ? row : -1;
+  }
+
+  /**
+   * Retrieves the column of the grid location at a horizontal position on the canvas.
+   *
+   * @param x The horizontal position in pixels.
+   * @return The column index, or -1 if the position is outside the grid.
+   */
+  int getColAt(int x) {
+    int col = Math.floorDiv(x, TILE_SIZE);
+    return col < this.cols ? col : -1;
+  }
+
+  /**
+   * Checks if the canvas is drawn through an accelerated back buffer.
+   *
+   * @return true if the back buffer is in use, false if the tiles are drawn directly
+   */
+  boolean isBackBuffered() {
+    return this.backBuffer && this.buffer != null;
+  }
+
+  /**
+   * Overrides the paintComponent method to paint the tiles inside the clip area.
+   *
+   * @param g The Graphics object used for painting.
+   */
+  @Override
+  protected void paintComponent(Graphics g) {
+    Rectangle clip = g.getClipBounds();
+    if (clip == null) {
+      clip = new Rectangle(0, 0, this.getWidth(), this.getHeight());
+    }
+
+    g.setColor(this.getBackground());
+    g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+    if (this.backBuffer && this.paintBuffer(g)) {
+      return;
+    }
+
+    int firstRow = Math.max(0, clip.y / TILE_SIZE);
+    int lastRow = Math.min(this.rows - 1, (clip.y + clip.height - 1) / TILE_SIZE);
+    int firstCol = Math.max(0, clip.x / TILE_SIZE);
+    int lastCol = Math.min(this.cols - 1, (clip.x + clip.width - 1) / TILE_SIZE);
+
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int col = firstCol; col <= lastCol; col++) {
+        g.drawImage(this.getTile(row, col), col * TILE_SIZE, row * TILE_SIZE, null);
+      }
+    }
+  }
+
+  private boolean paintBuffer(Graphics g) {
+    GraphicsConfiguration gc = this.getGraphicsConfiguration();
+    Rectangle visible = this.getVisibleRect();
+    if (gc == null || visible.isEmpty()) {
+      return false;
+    }
+
+    int firstRow = Math.max(0, visible.y / TILE_SIZE);
+    int lastRow = Math.min(this.rows - 1, (visible.y + visible.height - 1) / TILE_SIZE);
+    int firstCol = Math.max(0, visible.x / TILE_SIZE);
+    int lastCol = Math.min(this.cols - 1, (visible.x + visible.width - 1) / TILE_SIZE);
+
+    // the buffer is moved only once the visible area scrolls past its margin
+    if (this.buffer == null || firstRow < this.bufferRow || firstCol < this.bufferCol
+            || lastRow >= this.bufferRow + this.bufferRows
+            || lastCol >= this.bufferCol + this.bufferCols) {
+      if (!this.placeBuffer(gc, firstRow, lastRow, firstCol, lastCol)) {
+        return false;
+      }
+    }
+
+    do {
+      int status = this.buffer.validate(gc);
+      if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+        // e.g., the window moved to another screen
+        if (!this.placeBuffer(gc, firstRow, lastRow, firstCol, lastCol)) {
+          return false;
+        }
+      } else if (status == VolatileImage.IMAGE_RESTORED) {
+        Arrays.fill(this.bufferTiles, null);
+      }
+
+      Graphics bufferGraphics = this.buffer.createGraphics();
+      for (int row = firstRow; row <= lastRow; row++) {
+        for (int col = firstCol; col <= lastCol; col++) {
+          // the tile cache hands out the same image for as long as a tile looks the same
+          int slot = (row - this.bufferRow) * this.bufferCols + (col - this.bufferCol);
+          Image tile = this.getTile(row, col);
+
+          if (this.bufferTiles[slot] != tile) {
+            bufferGraphics.drawImage(tile, (col - this.bufferCol) * TILE_SIZE,
+                    (row - this.bufferRow) * TILE_SIZE, null);
+            this.bufferTiles[slot] = tile;
+          }
+        }
+      }
+      bufferGraphics.dispose();
+
+      g.drawImage(this.buffer, this.bufferCol * TILE_SIZE, this.bufferRow * TILE_SIZE, null);
+    } while (this.buffer.contentsLost());
+
+    return true;
+  }
+
+  private boolean placeBuffer(GraphicsConfiguration gc, int firstRow, int lastRow,
+                              int firstCol, int lastCol) {
+    int newRow = Math.max(0, firstRow - BUFFER_MARGIN);
+    int newCol = Math.max(0, firstCol - BUFFER_MARGIN);
+    int newRows = Math.min(this.rows, lastRow + 1 + BUFFER_MARGIN) - newRow;
+    int newCols = Math.min(this.cols, lastCol + 1 + BUFFER_MARGIN) - newCol;
+
+    if (this.buffer == null || newRows != this.bufferRows || newCols != this.bufferCols
+            || this.buffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+      if (this.buffer != null) {
+        this.buffer.flush();
+      }
+
+      this.buffer = gc.createCompatibleVolatileImage(newCols * TILE_SIZE, newRows * TILE_SIZE,
+              Transparency.OPAQUE);
+      if (this.buffer == null || !this.buffer.getCapabilities().isAccelerated()) {
+        // an unaccelerated buffer only adds a copy, the tiles are drawn directly from now on
+        if (this.buffer != null) {
+          this.buffer.flush();
+        }
+        this.buffer = null;
+        this.backBuffer = false;
+        return false;
+      }
+      this.bufferTiles = new Image[newRows * newCols];
+    } else {
+      Arrays.fill(this.bufferTiles, null);
+    }
+
+    this.bufferRow = newRow;
+    this.bufferCol = newCol;
+    this.bufferRows = newRows;
+    this.bufferCols = newCols;
+    return true;
+  }
+
+  private Image getTile(int row, int col) {
+    Location loc = this.model.getDungeon().getLocation(row, col);
+    Location playerLocation = this.model.getPlayer().getCurrentLocation();
+    boolean player = this.model.getPlayer().isAlive() && playerLocation.getId() == loc.getId();
+    boolean otyugh = loc.hasMonster() && loc.getMonster().isAlive();
+
+    return TileCache.getShared().getTile(loc.getDirectionMask(), otyugh, player, loc.getSmell(),
+            loc.isVisited(), TILE_SIZE, TILE_SIZE);
+  }
+}
@@ -0,0 +1,34 @@
+package view;
+
+import javax.swing.JComponent;
+
+import controller.GuiGameFeatures;
+
+/**
+ * The DungeonMap interface represents a component drawing the map of the dungeon adventure game,
+ * which can be scrolled and clicked on to move the player.
+ */
+interface DungeonMap {
+
+  /**
+   * Retrieves the Swing component that draws the map.
+   *
+   * @return The map component.
+   */
+  JComponent getComponent();
+
+  /**
+   * Adds a mouse listener to the map that passes clicks on grid locations to the controller.
+   *
+   * @param f The GuiGameFeatures object representing GUI game features.
+   */
+  void addMouseListener(GuiGameFeatures f);
+
+  /**
+   * Repaints only the tile of one grid location.
+   *
+   * @param row The row index of the grid location.
+   * @param col The column index of the grid location.
+   */
+  void repaintCell(int row, int col);
+}
@@ -3,6 +3,7 @@ package view;
 import java.awt.Component;
 import java.awt.GridLayout;
 import java.awt.event.MouseAdapter;
+import javax.swing.JComponent;
 import javax.swing.JPanel;
 
 import controller.GuiGameFeatures;
@@ -14,8 +15,9 @@ import model.ReadonlyGameModel;
  * It utilizes a grid layout where each grid location is represented by another custom JPanel
  * representing a specific dungeon location. This class also adds a mouse listener to all grid locations.
  */
-class DungeonPanel extends JPanel {
+class DungeonPanel extends JPanel implements DungeonMap {
   private final ReadonlyGameModel model;
+  private final int cols;
 
   /**
    * Constructs a DungeonPanel object with the specified game model.
@@ -26,6 +28,7 @@ class DungeonPanel extends JPanel {
     this.model = m;
 
     Location[][] dungeon = this.model.getDungeon().getDungeonGrid();
+    this.cols = dungeon[0].length;
 
     // Set layout as grid layout matching dungeon dimensions
     this.setLayout(new GridLayout(dungeon.length, dungeon[0].length, 0, 0));
@@ -39,12 +42,24 @@ class DungeonPanel extends JPanel {
     }
   }
 
+  @Override
+  public JComponent getComponent() {
+    return this;
+  }
+
+  @Override
+  public void repaintCell(int row, int col) {
+    // grid panels were added row by row
+    this.getComponent(row * this.cols + col).repaint();
+  }
+
   /**
    * Adds a mouse listener to all grid locations in the dungeon panel.
    *
    * @param f The GuiGameFeatures object representing GUI game features.
    */
-  void addMouseListener(GuiGameFeatures f) {
+  @Override
+  public void addMouseListener(GuiGameFeatures f) {
     // Create mouse adapter
     MouseAdapter clickAdapter = new GameMouseAdapter(f, this.model);
 
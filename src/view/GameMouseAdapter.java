@@ -35,10 +35,22 @@ class GameMouseAdapter extends MouseAdapter {
   public void mouseClicked(MouseEvent e) {
     super.mouseClicked(e);
 
-    // Get the clicked grid panel and its coordinates
-    GridPanel gridPanel = (GridPanel) e.getComponent();
-    int clickedX = gridPanel.getRow();
-    int clickedY = gridPanel.getCol();
+    // Get the coordinates of the clicked grid panel, or of the clicked tile of a canvas
+    int clickedX;
+    int clickedY;
+    if (e.getComponent() instanceof DungeonCanvas) {
+      DungeonCanvas canvas = (DungeonCanvas) e.getComponent();
+      clickedX = canvas.getRowAt(e.getY());
+      clickedY = canvas.getColAt(e.getX());
+
+      if (clickedX < 0 || clickedY < 0) {
+        return;
+      }
+    } else {
+      GridPanel gridPanel = (GridPanel) e.getComponent();
+      clickedX = gridPanel.getRow();
+      clickedY = gridPanel.getCol();
+    }
 
     // Get the player's current coordinates
     int[] playerCoordinates = this.model.getPlayer().getCurrentLocation().getCoordinates();
@@ -1,5 +1,6 @@
 package view;
 
+import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
@@ -13,6 +14,8 @@ import model.ReadonlyGameModel;
  * The GridPanel class represents a custom JPanel containing one grid location of the dungeon.
  */
 class GridPanel extends JPanel {
+  private static final Color PLACEHOLDER = new Color(0x202020);
+
   private final ReadonlyGameModel model;
   private final int row;
   private final int col;
@@ -70,7 +73,12 @@ class GridPanel extends JPanel {
     // Get the image for the panel
     Image image = new PanelImage(this, loc, player).getImage();
 
-    // Draw the image on the panel
-    g2d.drawImage(image, 0, 0, null);
+    // Draw the image on the panel, or a placeholder until it is composed
+    if (image != null) {
+      g2d.drawImage(image, 0, 0, null);
+    } else {
+      g2d.setColor(PLACEHOLDER);
+      g2d.fillRect(0, 0, this.getWidth(), this.getHeight());
+    }
   }
 }
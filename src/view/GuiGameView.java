@@ -5,11 +5,9 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.io.IOException;
-import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Objects;
 
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -19,10 +17,13 @@ import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 
 import controller.GuiGameController;
 import controller.GuiGameFeatures;
+import model.ModelChange;
+import model.ModelChangeListener;
 import model.ReadonlyGameModel;
 
 /**
@@ -31,20 +32,57 @@ import model.ReadonlyGameModel;
  * components in the view. It also gives callbacks to the controller by capturing listener events.
  */
 public class GuiGameView extends JFrame implements GameView {
+  /**
+   * The number of grid locations above which the map is drawn on a single canvas by default.
+   */
+  public static final int SINGLE_CANVAS_CELLS = 1600;
+
   private final ReadonlyGameModel model;
 
   private final JMenuItem newGameMenuItem;
   private final JMenuItem resetGameMenuItem;
   private final JMenuItem quitGameMenuItem;
 
-  private final DungeonPanel dungeonPanel;
+  private final DungeonMap dungeonPanel;
+  private final InfoPanel infoPanel;
+  private final MiniMap miniMap;
+  private final ModelChangeListener changeListener;
+  private boolean changesReported;
 
   /**
-   * Constructs a GuiGameView object with the specified read-only model.
+   * Constructs a GuiGameView object with the specified read-only model. Dungeons with more than
+   * {@link #SINGLE_CANVAS_CELLS} grid locations are drawn on a single canvas, smaller ones with
+   * one panel per grid location.
    *
    * @param rom The read-only model representing the game model.
    */
   public GuiGameView(ReadonlyGameModel rom) {
+    this(rom, !Objects.isNull(rom) && rom.getDungeon().getNoOfCaves()
+            + rom.getDungeon().getNoOfTunnels() > SINGLE_CANVAS_CELLS);
+  }
+
+  /**
+   * Constructs a GuiGameView object with the specified read-only model and map renderer.
+   *
+   * @param rom          The read-only model representing the game model.
+   * @param singleCanvas If the map is drawn on a single canvas that paints only the visible
+   *                     tiles, otherwise with one panel per grid location.
+   */
+  public GuiGameView(ReadonlyGameModel rom, boolean singleCanvas) {
+    this(rom, singleCanvas, true);
+  }
+
+  /**
+   * Constructs a GuiGameView object with the specified read-only model, map renderer and
+   * rendering mode of the single canvas.
+   *
+   * @param rom          The read-only model representing the game model.
+   * @param singleCanvas If the map is drawn on a single canvas that paints only the visible
+   *                     tiles, otherwise with one panel per grid location.
+   * @param backBuffer   If the single canvas composes its tiles into an accelerated back buffer
+   *                     when one is available, otherwise it draws them directly.
+   */
+  public GuiGameView(ReadonlyGameModel rom, boolean singleCanvas, boolean backBuffer) {
     super("DAG - Dungeon Adventure Game");
 
     if (Objects.isNull(rom)) {
@@ -89,20 +127,55 @@ public class GuiGameView extends JFrame implements GameView {
     visualCues.add(createInfoJLabel(ImageCategory.RUBY, "[C] "));
     visualCues.add(createInfoJLabel(ImageCategory.SAPPHIRE, "[V] "));
     visualCues.add(createInfoJLabel(ImageCategory.ARROW, "[Z] "));
+    visualCues.add(new JLabel("Explore : [E] "));
     topBar.add(visualCues, BorderLayout.CENTER);
     this.add(topBar, BorderLayout.NORTH);
 
     // Create scrollable dungeon map
-    this.dungeonPanel = new DungeonPanel(rom);
-    JScrollPane scrollablePanel = new JScrollPane(this.dungeonPanel);
+    JScrollPane scrollablePanel;
+    if (singleCanvas) {
+      this.dungeonPanel = new DungeonCanvas(rom, backBuffer);
+      scrollablePanel = new JScrollPane(this.dungeonPanel.getComponent());
+      scrollablePanel.getVerticalScrollBar().setUnitIncrement(DungeonCanvas.TILE_SIZE / 4);
+      scrollablePanel.getHorizontalScrollBar().setUnitIncrement(DungeonCanvas.TILE_SIZE / 4);
+    } else {
+      this.dungeonPanel = new DungeonPanel(rom);
+      scrollablePanel = new JScrollPane(this.dungeonPanel.getComponent());
+    }
     scrollablePanel.setAutoscrolls(true);
     scrollablePanel.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
     scrollablePanel.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
     this.getContentPane().add(scrollablePanel, BorderLayout.CENTER);
 
+    // Create minimap of the whole dungeon that scrolls the dungeon map when clicked
+    this.miniMap = new MiniMap(rom, scrollablePanel.getViewport());
+    JPanel miniMapPanel = new JPanel(new BorderLayout());
+    miniMapPanel.add(this.miniMap, BorderLayout.NORTH);
+    this.getContentPane().add(miniMapPanel, BorderLayout.EAST);
+
     // Create information panel for player and location details
-    InfoPanel infoPanel = new InfoPanel(rom);
-    this.getContentPane().add(infoPanel, BorderLayout.SOUTH);
+    this.infoPanel = new InfoPanel(rom);
+    this.getContentPane().add(this.infoPanel, BorderLayout.SOUTH);
+
+    // Repaint only what each action of the player changed
+    this.changeListener = this::repaintChanges;
+    this.changesReported = false;
+    if (!Objects.isNull(rom)) {
+      rom.addModelChangeListener(this.changeListener);
+    }
+  }
+
+  private void repaintChanges(ModelChange change) {
+    for (int[] xy : change.getChangedCells()) {
+      this.dungeonPanel.repaintCell(xy[0], xy[1]);
+      this.miniMap.updateCell(xy[0], xy[1]);
+    }
+
+    if (change.isPlayerChanged() || change.isInventoryChanged()) {
+      this.infoPanel.repaint();
+    }
+
+    this.changesReported = true;
   }
 
   @Override
@@ -127,13 +200,20 @@ public class GuiGameView extends JFrame implements GameView {
 
   @Override
   public void delete() {
+    this.model.removeModelChangeListener(this.changeListener);
     this.setVisible(false);
     this.dispose();
   }
 
   @Override
   public void refresh() {
-    this.repaint();
+    // the changed tiles and panels were already repainted as the model reported them,
+    // the whole frame is repainted only if nothing was reported since the last refresh
+    if (!this.changesReported) {
+      this.miniMap.rebuild();
+      this.repaint();
+    }
+    this.changesReported = false;
   }
 
   @Override
@@ -142,14 +222,21 @@ public class GuiGameView extends JFrame implements GameView {
   }
 
   private static class GameKeyListener implements KeyListener {
+    // moves queued beyond this, e.g., while a key is held during a slow paint, are dropped
+    private static final int MAX_QUEUED_MOVES = 8;
+
     private final ReadonlyGameModel model;
     private final GuiGameView view;
     private final GuiGameController controller;
+    private final int[] queuedMoves;
+    private int queuedCount;
 
     public GameKeyListener(ReadonlyGameModel m, GuiGameFeatures f, GuiGameView v) {
       this.model = m;
       this.controller = (GuiGameController) f;
       this.view = v;
+      this.queuedMoves = new int[MAX_QUEUED_MOVES];
+      this.queuedCount = 0;
     }
 
     @Override
@@ -163,45 +250,80 @@ public class GuiGameView extends JFrame implements GameView {
         // Handle movement and actions based on key events
         switch (e.getKeyCode()) {
           case KeyEvent.VK_UP:
-            controller.move(0);
+            this.queueMove(0);
             break;
           case KeyEvent.VK_DOWN:
-            controller.move(1);
+            this.queueMove(1);
             break;
           case KeyEvent.VK_RIGHT:
-            controller.move(2);
+            this.queueMove(2);
             break;
           case KeyEvent.VK_LEFT:
-            controller.move(3);
+            this.queueMove(3);
             break;
           case KeyEvent.VK_Z:
+            this.flushMoves();
             controller.pick(0);
             break;
           case KeyEvent.VK_X:
+            this.flushMoves();
             controller.pick(1);
             break;
           case KeyEvent.VK_C:
+            this.flushMoves();
             controller.pick(2);
             break;
           case KeyEvent.VK_V:
+            this.flushMoves();
             controller.pick(3);
             break;
           case KeyEvent.VK_W:
+            this.flushMoves();
             controller.shoot(0, this.popUp());
             break;
           case KeyEvent.VK_S:
+            this.flushMoves();
             controller.shoot(1, this.popUp());
             break;
           case KeyEvent.VK_D:
+            this.flushMoves();
             controller.shoot(2, this.popUp());
             break;
           case KeyEvent.VK_A:
+            this.flushMoves();
             controller.shoot(3, this.popUp());
             break;
+          case KeyEvent.VK_E:
+            this.flushMoves();
+            controller.explore(1);
+            break;
         }
       }
     }
 
+    private void queueMove(int direction) {
+      if (this.queuedCount == this.queuedMoves.length) {
+        return;
+      }
+
+      // the first queued move schedules the batch behind the key events already waiting,
+      // so all the moves pressed until the event dispatch thread gets to it go in one batch
+      if (this.queuedCount == 0) {
+        SwingUtilities.invokeLater(this::flushMoves);
+      }
+      this.queuedMoves[this.queuedCount++] = direction;
+    }
+
+    private void flushMoves() {
+      if (this.queuedCount == 0) {
+        return;
+      }
+
+      int[] moves = Arrays.copyOf(this.queuedMoves, this.queuedCount);
+      this.queuedCount = 0;
+      controller.moveAll(moves);
+    }
+
     @Override
     public void keyReleased(KeyEvent e) {
       // Not used
@@ -221,14 +343,7 @@ public class GuiGameView extends JFrame implements GameView {
   }
 
   private JLabel createInfoJLabel(ImageCategory item, String key) {
-    ImageIcon icon;
-
-    try {
-      InputStream imageStream = getClass().getResourceAsStream(item.getFilePath());
-      icon = new ImageIcon(ImageIO.read(imageStream));
-    } catch (IOException ioe) {
-      throw new IllegalStateException("Cannot find icon location image!");
-    }
+    ImageIcon icon = new ImageIcon(SpriteAtlas.getShared().getSprite(item));
 
     JLabel thumbnail = new JLabel();
     thumbnail.setIcon(icon);
@@ -2,24 +2,19 @@ package view;
 
 import java.awt.FlowLayout;
 import java.awt.Graphics;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Collections;
-import java.util.List;
 
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
-import model.Item;
+import model.InventorySnapshot;
 import model.ReadonlyGameModel;
 import model.Treasure;
-import model.Weapon;
 
 /**
  * The LocationInfoPanel class represents a custom JPanel that displays information
  * about the player's current location, such as the treasure and number of arrows available.
+ * The labels are only updated when the inventory snapshot of the model has a new version.
  */
 class LocationInfoPanel extends JPanel {
   private final ReadonlyGameModel model;
@@ -27,6 +22,7 @@ class LocationInfoPanel extends JPanel {
   private final JLabel rubyLabel;
   private final JLabel sapphireLabel;
   private final JLabel arrowLabel;
+  private long shownVersion;
 
   /**
    * Constructs a LocationInfoPanel object with the specified read-only model.
@@ -35,45 +31,47 @@ class LocationInfoPanel extends JPanel {
    */
   public LocationInfoPanel(ReadonlyGameModel model) {
     this.model = model;
-    List<Item> content = this.model.getPlayer().getCurrentLocation().getContent();
+    InventorySnapshot snapshot = this.model.getInventorySnapshot();
+    this.shownVersion = snapshot.getVersion();
 
     this.setLayout(new FlowLayout());
 
     JLabel locationLabel = new JLabel(" Location:");
     this.add(locationLabel);
 
-    diamondLabel = createInfoJLabel(ImageCategory.DIAMOND, Collections.frequency(content, Treasure.DIAMOND));
+    diamondLabel = createInfoJLabel(ImageCategory.DIAMOND,
+            snapshot.getLocationTreasure(Treasure.DIAMOND));
     this.add(diamondLabel);
-    rubyLabel = createInfoJLabel(ImageCategory.RUBY, Collections.frequency(content, Treasure.RUBY));
+    rubyLabel = createInfoJLabel(ImageCategory.RUBY,
+            snapshot.getLocationTreasure(Treasure.RUBY));
     this.add(rubyLabel);
-    sapphireLabel = createInfoJLabel(ImageCategory.SAPPHIRE, Collections.frequency(content, Treasure.SAPPHIRE));
+    sapphireLabel = createInfoJLabel(ImageCategory.SAPPHIRE,
+            snapshot.getLocationTreasure(Treasure.SAPPHIRE));
     this.add(sapphireLabel);
-    arrowLabel = createInfoJLabel(ImageCategory.ARROW, Collections.frequency(content, Weapon.ARROW));
+    arrowLabel = createInfoJLabel(ImageCategory.ARROW, snapshot.getLocationArrows());
     this.add(arrowLabel);
   }
 
   @Override
   protected void paintComponent(Graphics g) {
     super.paintComponent(g);
-    List<Item> content = this.model.getPlayer().getCurrentLocation().getContent();
 
-    diamondLabel.setText(String.valueOf(Collections.frequency(content, Treasure.DIAMOND)));
-    rubyLabel.setText(String.valueOf(Collections.frequency(content, Treasure.RUBY)));
-    sapphireLabel.setText(String.valueOf(Collections.frequency(content, Treasure.SAPPHIRE)));
-    arrowLabel.setText(String.valueOf(Collections.frequency(content, Weapon.ARROW)));
+    InventorySnapshot snapshot = this.model.getInventorySnapshot();
+    if (snapshot.getVersion() == this.shownVersion) {
+      return;
+    }
+    this.shownVersion = snapshot.getVersion();
+
+    diamondLabel.setText(String.valueOf(snapshot.getLocationTreasure(Treasure.DIAMOND)));
+    rubyLabel.setText(String.valueOf(snapshot.getLocationTreasure(Treasure.RUBY)));
+    sapphireLabel.setText(String.valueOf(snapshot.getLocationTreasure(Treasure.SAPPHIRE)));
+    arrowLabel.setText(String.valueOf(snapshot.getLocationArrows()));
 
     this.validate();
   }
 
   private JLabel createInfoJLabel(ImageCategory item, int count) {
-    ImageIcon icon;
-
-    try {
-      InputStream imageStream = getClass().getResourceAsStream(item.getFilePath());
-      icon = new ImageIcon(ImageIO.read(imageStream));
-    } catch (IOException ioe) {
-      throw new IllegalStateException("Cannot find icon location image!");
-    }
+    ImageIcon icon = new ImageIcon(SpriteAtlas.getShared().getSprite(item));
 
     JLabel thumbnail = new JLabel();
     thumbnail.setIcon(icon);
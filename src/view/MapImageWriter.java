@@ -0,0 +1,258 @@
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import model.IDungeon;
+import model.Location;
+import model.ReadonlyGameModel;
+
+/**
+ * The MapImageWriter class writes the whole map of a game to a PNG image without any Swing
+ * component, so it also runs with {@code java.awt.headless=true}, e.g., to make thumbnails of
+ * finished games. Locations are drawn with the same tiles as on screen.
+ *
+ * <p>The map is rendered in bands of one row of tiles. Bands are drawn and compressed in
+ * parallel on a fork-join pool, and written to the image in order as they complete. Only a few
+ * bands per worker are held at once, so the memory used does not grow with the number of rows.
+ */
+public final class MapImageWriter {
+  private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+  private static final int BANDS_PER_WORKER = 2;
+  private static final int ADLER_BASE = 65521;
+
+  private MapImageWriter() {
+    // static utility, not meant to be instantiated
+  }
+
+  /**
+   * Writes the map of a game to a PNG file, using all available processors.
+   *
+   * @param model    the game to draw, not to be changed while it is drawn
+   * @param tileSize the width and height of the tile of each location in pixels
+   * @param file     the file to write the image to
+   * @throws IllegalArgumentException if the model or file is null, the tile size is not positive
+   *                                  or the image would be too large
+   * @throws IOException              if the image cannot be written
+   */
+  public static void writePng(ReadonlyGameModel model, int tileSize, File file)
+          throws IllegalArgumentException, IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("Image file cannot be null!");
+    }
+
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+      writePng(model, tileSize, out, Runtime.getRuntime().availableProcessors());
+    }
+  }
+
+  /**
+   * Writes the map of a game as a PNG image to a stream, which is left open.
+   *
+   * @param model       the game to draw, not to be changed while it is drawn
+   * @param tileSize    the width and height of the tile of each location in pixels
+   * @param out         the stream to write the image to
+   * @param parallelism the number of worker threads to draw the map with
+   * @throws IllegalArgumentException if the model or stream is null, the tile size or the
+   *                                  parallelism is not positive or the image would be too large
+   * @throws IOException              if the image cannot be written
+   */
+  public static void writePng(ReadonlyGameModel model, int tileSize, OutputStream out,
+                              int parallelism) throws IllegalArgumentException, IOException {
+    if (model == null) {
+      throw new IllegalArgumentException("Game model cannot be null!");
+    } else if (out == null) {
+      throw new IllegalArgumentException("Image stream cannot be null!");
+    } else if (tileSize <= 0) {
+      throw new IllegalArgumentException("Tile size should be positive!");
+    } else if (parallelism <= 0) {
+      throw new IllegalArgumentException("Parallelism should be positive!");
+    }
+
+    Location[][] grid = model.getDungeon().getDungeonGrid();
+    int rows = grid.length;
+    int cols = grid[0].length;
+    // every scanline is one filter byte and three bytes per pixel
+    if ((long) cols * tileSize * 3 + 1 > Integer.MAX_VALUE / tileSize
+            || (long) rows * tileSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Map image would be too large!");
+    }
+
+    // a cache of its own, so the tiles on screen are not flushed for a different tile size
+    TileCache tiles = new TileCache(SpriteAtlas.getShared(), 256);
+    DataOutputStream png = new DataOutputStream(out);
+
+    png.write(SIGNATURE);
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    DataOutputStream headerData = new DataOutputStream(header);
+    headerData.writeInt(cols * tileSize);
+    headerData.writeInt(rows * tileSize);
+    // 8 bits per sample, truecolour, deflate, adaptive filtering, no interlace
+    headerData.write(new byte[] {8, 2, 0, 0, 0});
+    writeChunk(png, "IHDR", header.toByteArray());
+    // zlib header of a deflate stream with the default window and compression
+    writeChunk(png, "IDAT", new byte[] {0x78, (byte) 0x9c});
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      Deque<Future<Band>> pending = new ArrayDeque<>();
+      int next = 0;
+      int adler = 1;
+
+      while (next < rows || !pending.isEmpty()) {
+        while (next < rows && pending.size() < parallelism * BANDS_PER_WORKER) {
+          int row = next++;
+          pending.add(pool.submit(() -> renderBand(model, tiles, row, rows, cols, tileSize)));
+        }
+
+        Band band = pending.remove().get();
+        writeChunk(png, "IDAT", band.compressed);
+        adler = combineAdler(adler, band.adler, band.length);
+      }
+
+      writeChunk(png, "IDAT", new byte[] {(byte) (adler >>> 24), (byte) (adler >>> 16),
+              (byte) (adler >>> 8), (byte) adler});
+      writeChunk(png, "IEND", new byte[0]);
+      png.flush();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Map image writing was interrupted!", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Unable to draw the map image!", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private static Band renderBand(ReadonlyGameModel model, TileCache tiles, int row, int rows,
+                                 int cols, int tileSize) {
+    IDungeon dungeon = model.getDungeon();
+    Location playerLocation = model.getPlayer().getCurrentLocation();
+    boolean playerAlive = model.getPlayer().isAlive();
+    int width = cols * tileSize;
+
+    BufferedImage image = new BufferedImage(width, tileSize, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    for (int col = 0; col < cols; col++) {
+      Location loc = dungeon.getLocation(row, col);
+      boolean player = playerAlive && playerLocation.getId() == loc.getId();
+      boolean otyugh = loc.hasMonster() && loc.getMonster().isAlive();
+
+      g.drawImage(tiles.getTile(loc.getDirectionMask(), otyugh, player, loc.getSmell(),
+              loc.isVisited(), tileSize, tileSize), col * tileSize, 0, null);
+    }
+    g.dispose();
+
+    // scanlines use the Sub filter, storing each byte as the difference to the pixel on its left
+    int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    int stride = width * 3 + 1;
+    byte[] raw = new byte[stride * tileSize];
+    for (int y = 0; y < tileSize; y++) {
+      int offset = y * stride;
+      int left = 0;
+      raw[offset] = 1;
+
+      for (int x = 0; x < width; x++) {
+        int rgb = pixels[y * width + x];
+        raw[offset + 1 + x * 3] = (byte) ((rgb >>> 16) - (left >>> 16));
+        raw[offset + 2 + x * 3] = (byte) ((rgb >>> 8) - (left >>> 8));
+        raw[offset + 3 + x * 3] = (byte) (rgb - left);
+        left = rgb;
+      }
+    }
+
+    // bands are compressed on their own and joined, only the last one ends the deflate stream
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    deflater.setInput(raw);
+    boolean last = row == rows - 1;
+    if (last) {
+      deflater.finish();
+    }
+
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4);
+    byte[] buffer = new byte[8192];
+    int count;
+    do {
+      count = deflater.deflate(buffer, 0, buffer.length,
+              last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+      compressed.write(buffer, 0, count);
+    } while (last ? !deflater.finished() : count == buffer.length);
+    deflater.end();
+
+    return new Band(compressed.toByteArray(), adler(raw), raw.length);
+  }
+
+  private static int adler(byte[] data) {
+    Adler32 adler = new Adler32();
+    adler.update(data);
+    return (int) adler.getValue();
+  }
+
+  private static int combineAdler(int first, int second, long secondLength) {
+    // the checksum of two joined blocks, from the checksums of each block as zlib combines them
+    long rem = secondLength % ADLER_BASE;
+    long sum1 = first & 0xffff;
+    long sum2 = (rem * sum1) % ADLER_BASE;
+    sum1 += (second & 0xffff) + ADLER_BASE - 1;
+    sum2 += ((first >>> 16) & 0xffff) + ((second >>> 16) & 0xffff) + ADLER_BASE - rem;
+
+    if (sum1 >= ADLER_BASE) {
+      sum1 -= ADLER_BASE;
+    }
+    if (sum1 >= ADLER_BASE) {
+      sum1 -= ADLER_BASE;
+    }
+    if (sum2 >= ((long) ADLER_BASE << 1)) {
+      sum2 -= ((long) ADLER_BASE << 1);
+    }
+    if (sum2 >= ADLER_BASE) {
+      sum2 -= ADLER_BASE;
+    }
+    return (int) (sum1 | (sum2 << 16));
+  }
+
+  private static void writeChunk(DataOutputStream out, String type, byte[] data)
+          throws IOException {
+    byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+    CRC32 crc = new CRC32();
+    crc.update(typeBytes);
+    crc.update(data);
+
+    out.writeInt(data.length);
+    out.write(typeBytes);
+    out.write(data);
+    out.writeInt((int) crc.getValue());
+  }
+
+  private static class Band {
+    private final byte[] compressed;
+    private final int adler;
+    private final int length;
+
+    Band(byte[] compressed, int adler, int length) {
+      this.compressed = compressed;
+      this.adler = adler;
+      this.length = length;
+    }
+  }
+}
@@ -0,0 +1,247 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JViewport;
+
+import model.IDungeon;
+import model.Location;
+import model.ReadonlyGameModel;
+
+/**
+ * The MiniMap class represents an overview of the whole dungeon drawn at reduced resolution,
+ * with the part shown by the main map outlined. Clicking on it scrolls the main map there.
+ *
+ * <p>The overview is kept as mip levels: the lowest level has one pixel per grid location and
+ * every level above averages the 2x2 blocks of pixels of the level below, down to a single
+ * pixel. The coarsest level that still has a pixel for every pixel of the panel is drawn.
+ * When a location changes, only its pixel and the pixels above it are computed again.
+ */
+class MiniMap extends JPanel {
+  private static final int MAX_SIZE = 160;
+  private static final int UNVISITED = 0x202020;
+  private static final int TUNNEL = 0x8c7b62;
+  private static final int CAVE = 0xd9c9a3;
+  private static final int OTYUGH = 0xc0392b;
+
+  private final ReadonlyGameModel model;
+  private final JViewport viewport;
+  private final int rows;
+  private final int cols;
+  private final BufferedImage[] levels;
+
+  /**
+   * Constructs a MiniMap object for the specified game model and main map viewport.
+   *
+   * @param m        The ReadonlyGameModel representing the game model.
+   * @param viewport The viewport of the scroll pane showing the main map.
+   */
+  public MiniMap(ReadonlyGameModel m, JViewport viewport) {
+    this.model = m;
+    this.viewport = viewport;
+
+    Location[][] dungeon = this.model.getDungeon().getDungeonGrid();
+    this.rows = dungeon.length;
+    this.cols = dungeon[0].length;
+
+    int count = 1;
+    while ((this.cols - 1) >> (count - 1) > 0 || (this.rows - 1) >> (count - 1) > 0) {
+      count += 1;
+    }
+    this.levels = new BufferedImage[count];
+    for (int level = 0; level < count; level++) {
+      this.levels[level] = new BufferedImage(levelSize(this.cols, level),
+              levelSize(this.rows, level), BufferedImage.TYPE_INT_RGB);
+    }
+    this.rebuild();
+
+    double scale = Math.min((double) MAX_SIZE / this.cols, (double) MAX_SIZE / this.rows);
+    this.setPreferredSize(new Dimension((int) Math.ceil(this.cols * scale),
+            (int) Math.ceil(this.rows * scale)));
+    this.setBackground(Color.BLACK);
+
+    this.addMouseListener(new MouseAdapter() {
+      @Override
+      public void mousePressed(MouseEvent e) {
+        MiniMap.this.scrollTo(e.getX(), e.getY());
+      }
+    });
+    this.addMouseMotionListener(new MouseAdapter() {
+      @Override
+      public void mouseDragged(MouseEvent e) {
+        MiniMap.this.scrollTo(e.getX(), e.getY());
+      }
+    });
+    this.viewport.addChangeListener(l -> this.repaint());
+  }
+
+  /**
+   * Computes all the mip levels again from the model, e.g., when the game was reset.
+   */
+  void rebuild() {
+    int[] base = pixels(this.levels[0]);
+    IDungeon dungeon = this.model.getDungeon();
+
+    for (int row = 0; row < this.rows; row++) {
+      for (int col = 0; col < this.cols; col++) {
+        base[row * this.cols + col] = colorOf(dungeon.getLocation(row, col));
+      }
+    }
+
+    for (int level = 1; level < this.levels.length; level++) {
+      BufferedImage image = this.levels[level];
+      for (int y = 0; y < image.getHeight(); y++) {
+        for (int x = 0; x < image.getWidth(); x++) {
+          this.average(level, x, y);
+        }
+      }
+    }
+    this.repaint();
+  }
+
+  /**
+   * Updates the overview of one grid location, e.g., when it was visited or its monster died.
+   *
+   * @param row The row index of the grid location.
+   * @param col The column index of the grid location.
+   */
+  void updateCell(int row, int col) {
+    pixels(this.levels[0])[row * this.cols + col] =
+            colorOf(this.model.getDungeon().getLocation(row, col));
+
+    for (int level = 1; level < this.levels.length; level++) {
+      this.average(level, col >> level, row >> level);
+    }
+    this.repaint();
+  }
+
+  /**
+   * Overrides the paintComponent method to paint the overview, the player and the part of the
+   * dungeon shown by the main map.
+   *
+   * @param g The Graphics object used for painting.
+   */
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+
+    Rectangle area = this.getMapArea();
+    if (area.isEmpty()) {
+      return;
+    }
+
+    // the coarsest level with at least one pixel per pixel of the panel
+    int level = 0;
+    while (level + 1 < this.levels.length
+            && this.levels[level + 1].getWidth() >= area.width
+            && this.levels[level + 1].getHeight() >= area.height) {
+      level += 1;
+    }
+    g.drawImage(this.levels[level], area.x, area.y, area.width, area.height, null);
+
+    double cellWidth = (double) area.width / this.cols;
+    double cellHeight = (double) area.height / this.rows;
+
+    if (this.model.getPlayer().isAlive()) {
+      int[] player = this.model.getPlayer().getCurrentLocation().getCoordinates();
+      int size = (int) Math.max(3, Math.ceil(Math.min(cellWidth, cellHeight)));
+      g.setColor(Color.GREEN);
+      g.fillRect(area.x + (int) ((player[1] + 0.5) * cellWidth) - size / 2,
+              area.y + (int) ((player[0] + 0.5) * cellHeight) - size / 2, size, size);
+    }
+
+    JComponent map = (JComponent) this.viewport.getView();
+    if (map != null && map.getWidth() > 0 && map.getHeight() > 0) {
+      Rectangle visible = this.viewport.getViewRect();
+      double scaleX = (double) area.width / map.getWidth();
+      double scaleY = (double) area.height / map.getHeight();
+      g.setColor(Color.WHITE);
+      g.drawRect(area.x + (int) (visible.x * scaleX), area.y + (int) (visible.y * scaleY),
+              Math.max(1, (int) (visible.width * scaleX) - 1),
+              Math.max(1, (int) (visible.height * scaleY) - 1));
+    }
+  }
+
+  private void scrollTo(int x, int y) {
+    Rectangle area = this.getMapArea();
+    JComponent map = (JComponent) this.viewport.getView();
+    if (area.isEmpty() || map == null) {
+      return;
+    }
+
+    // center the main map on the clicked point, kept inside the map
+    Dimension extent = this.viewport.getExtentSize();
+    double fractionX = (double) (x - area.x) / area.width;
+    double fractionY = (double) (y - area.y) / area.height;
+    int viewX = (int) (fractionX * map.getWidth()) - extent.width / 2;
+    int viewY = (int) (fractionY * map.getHeight()) - extent.height / 2;
+    viewX = Math.max(0, Math.min(viewX, map.getWidth() - extent.width));
+    viewY = Math.max(0, Math.min(viewY, map.getHeight() - extent.height));
+
+    this.viewport.setViewPosition(new Point(viewX, viewY));
+  }
+
+  private Rectangle getMapArea() {
+    // the largest area of the dungeon's aspect ratio centered in the panel
+    double scale = Math.min((double) this.getWidth() / this.cols,
+            (double) this.getHeight() / this.rows);
+    int width = (int) (this.cols * scale);
+    int height = (int) (this.rows * scale);
+
+    return new Rectangle((this.getWidth() - width) / 2, (this.getHeight() - height) / 2,
+            width, height);
+  }
+
+  private void average(int level, int x, int y) {
+    BufferedImage below = this.levels[level - 1];
+    int[] source = pixels(below);
+    int red = 0;
+    int green = 0;
+    int blue = 0;
+    int count = 0;
+
+    for (int dy = 0; dy < 2; dy++) {
+      for (int dx = 0; dx < 2; dx++) {
+        int sx = 2 * x + dx;
+        int sy = 2 * y + dy;
+
+        if (sx < below.getWidth() && sy < below.getHeight()) {
+          int rgb = source[sy * below.getWidth() + sx];
+          red += (rgb >> 16) & 0xff;
+          green += (rgb >> 8) & 0xff;
+          blue += rgb & 0xff;
+          count += 1;
+        }
+      }
+    }
+
+    pixels(this.levels[level])[y * this.levels[level].getWidth() + x] =
+            (red / count) << 16 | (green / count) << 8 | (blue / count);
+  }
+
+  private static int colorOf(Location loc) {
+    if (!loc.isVisited()) {
+      return UNVISITED;
+    } else if (loc.hasMonster() && loc.getMonster().isAlive()) {
+      return OTYUGH;
+    }
+    return loc.isCave() ? CAVE : TUNNEL;
+  }
+
+  private static int levelSize(int cells, int level) {
+    return ((cells - 1) >> level) + 1;
+  }
+
+  private static int[] pixels(BufferedImage image) {
+    return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+  }
+}
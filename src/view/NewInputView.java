@@ -1,15 +1,27 @@
 package view;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JTextField;
 
+import model.CalibrationTable;
+import model.DifficultyPreset;
+
 /**
  * The NewInputView class represents a new input view where the user is prompted to enter
  * parameters for the dungeon model. It also provides functionality for the user to choose
- * between GUI or console-based game.
+ * between GUI or console-based game. Instead of typing a difficulty, the user can pick a
+ * preset, which is looked up in the calibration table of simulated games for the parameters.
  */
 public class NewInputView extends JFrame implements InputView {
+  private static final String CALIBRATION_TABLE = "/calibration/difficulty.csv";
+  private static final String CUSTOM = "Custom";
+
   private String[] args;
 
   /**
@@ -23,6 +35,12 @@ public class NewInputView extends JFrame implements InputView {
     JTextField percent = new JTextField("50");
     JTextField diff = new JTextField("15");
 
+    JComboBox<Object> preset = new JComboBox<>();
+    preset.addItem(CUSTOM);
+    for (DifficultyPreset p : DifficultyPreset.values()) {
+      preset.addItem(p);
+    }
+
     Object[] message = {
             "No. of rows:", rows,
             "No. of cols:", cols,
@@ -30,6 +48,7 @@ public class NewInputView extends JFrame implements InputView {
             "Interconnectivity:", interconn,
             "Percentage of items:", percent,
             "Difficulty:", diff,
+            "Difficulty preset:", preset,
     };
 
     Object[] options = {
@@ -43,6 +62,12 @@ public class NewInputView extends JFrame implements InputView {
             JOptionPane.QUESTION_MESSAGE, null, options, null);
 
 
+    if (preset.getSelectedItem() instanceof DifficultyPreset) {
+      diff.setText(presetDifficulty((DifficultyPreset) preset.getSelectedItem(),
+              rows.getText().trim(), cols.getText().trim(), wrap.getText().trim(),
+              interconn.getText().trim(), percent.getText().trim(), diff.getText().trim()));
+    }
+
     if (option == JOptionPane.YES_OPTION) {
       args = new String[6];
 
@@ -69,6 +94,25 @@ public class NewInputView extends JFrame implements InputView {
     this.setVisible(true);
   }
 
+  private static String presetDifficulty(DifficultyPreset preset, String rows, String cols,
+                                         String wrap, String interconn, String percent,
+                                         String typed) {
+    try (InputStream table = NewInputView.class.getResourceAsStream(CALIBRATION_TABLE)) {
+      if (table == null) {
+        return typed;
+      }
+
+      CalibrationTable calibration = CalibrationTable.read(
+              new InputStreamReader(table, StandardCharsets.UTF_8));
+      return String.valueOf(calibration.getDifficulty(Integer.parseInt(rows),
+              Integer.parseInt(cols), Boolean.parseBoolean(wrap), Integer.parseInt(interconn),
+              Double.parseDouble(percent), preset));
+    } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+      // without a usable table or parameters, the typed difficulty is kept
+      return typed;
+    }
+  }
+
   @Override
   public String[] getDungeonParams() {
     this.setVisible(false);
@@ -2,20 +2,18 @@ package view;
 
 import java.awt.FlowLayout;
 import java.awt.Graphics;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Map;
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
+import model.InventorySnapshot;
 import model.ReadonlyGameModel;
 import model.Treasure;
 
 /**
  * The PlayerInfoPanel class represents a custom JPanel that displays information
  * about the player, such as collected treasures and remaining arrows.
+ * The labels are only updated when the inventory snapshot of the model has a new version.
  */
 class PlayerInfoPanel extends JPanel {
   private final ReadonlyGameModel model;
@@ -23,6 +21,7 @@ class PlayerInfoPanel extends JPanel {
   private final JLabel ruby;
   private final JLabel sapphire;
   private final JLabel arrow;
+  private long shownVersion;
 
   /**
    * Constructs a PlayerInfoPanel object with the specified read-only model.
@@ -32,8 +31,8 @@ class PlayerInfoPanel extends JPanel {
   public PlayerInfoPanel(ReadonlyGameModel m) {
     this.model = m;
 
-    Map<Treasure, Integer> possession = this.model.getPlayer().getTreasureCollected();
-    int arrows = this.model.getPlayer().getArrowsLeft();
+    InventorySnapshot snapshot = this.model.getInventorySnapshot();
+    this.shownVersion = snapshot.getVersion();
 
     this.setLayout(new FlowLayout());
 
@@ -41,15 +40,15 @@ class PlayerInfoPanel extends JPanel {
     this.add(playerLabel);
 
     diamond = createInfoJLabel(ImageCategory.DIAMOND,
-            possession.getOrDefault(Treasure.DIAMOND, 0));
+            snapshot.getPlayerTreasure(Treasure.DIAMOND));
     this.add(diamond);
     ruby = createInfoJLabel(ImageCategory.RUBY,
-            possession.getOrDefault(Treasure.RUBY, 0));
+            snapshot.getPlayerTreasure(Treasure.RUBY));
     this.add(ruby);
     sapphire = createInfoJLabel(ImageCategory.SAPPHIRE,
-            possession.getOrDefault(Treasure.SAPPHIRE, 0));
+            snapshot.getPlayerTreasure(Treasure.SAPPHIRE));
     this.add(sapphire);
-    arrow = createInfoJLabel(ImageCategory.ARROW, arrows);
+    arrow = createInfoJLabel(ImageCategory.ARROW, snapshot.getPlayerArrows());
     this.add(arrow);
   }
 
@@ -57,26 +56,22 @@ class PlayerInfoPanel extends JPanel {
   protected void paintComponent(Graphics g) {
     super.paintComponent(g);
 
-    Map<Treasure, Integer> possession = this.model.getPlayer().getTreasureCollected();
-    int arrows = this.model.getPlayer().getArrowsLeft();
+    InventorySnapshot snapshot = this.model.getInventorySnapshot();
+    if (snapshot.getVersion() == this.shownVersion) {
+      return;
+    }
+    this.shownVersion = snapshot.getVersion();
 
-    diamond.setText(String.valueOf(possession.getOrDefault(Treasure.DIAMOND, 0)));
-    ruby.setText(String.valueOf(possession.getOrDefault(Treasure.RUBY, 0)));
-    sapphire.setText(String.valueOf(possession.getOrDefault(Treasure.SAPPHIRE, 0)));
-    arrow.setText(String.valueOf(arrows));
+    diamond.setText(String.valueOf(snapshot.getPlayerTreasure(Treasure.DIAMOND)));
+    ruby.setText(String.valueOf(snapshot.getPlayerTreasure(Treasure.RUBY)));
+    sapphire.setText(String.valueOf(snapshot.getPlayerTreasure(Treasure.SAPPHIRE)));
+    arrow.setText(String.valueOf(snapshot.getPlayerArrows()));
 
     this.validate();
   }
 
   private JLabel createInfoJLabel(ImageCategory item, int count) {
-    ImageIcon icon;
-
-    try {
-      InputStream imageStream = getClass().getResourceAsStream(item.getFilePath());
-      icon = new ImageIcon(ImageIO.read(imageStream));
-    } catch (IOException ioe) {
-      throw new IllegalStateException("Cannot find icon location image!");
-    }
+    ImageIcon icon = new ImageIcon(SpriteAtlas.getShared().getSprite(item));
 
     JLabel thumbnail = new JLabel();
     thumbnail.setIcon(icon);
@@ -0,0 +1,155 @@
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.imageio.ImageIO;
+
+import model.Direction;
+
+/**
+ * The SpriteAtlas class represents all the image assets of the game packed into one image.
+ * Every asset is decoded once, when the atlas is first used, and drawn into its own slot of
+ * the atlas. Sprites are handed out as sub-images sharing the pixels of the atlas, by asset or
+ * by the direction mask of the location tile showing those directions.
+ */
+final class SpriteAtlas {
+  private static final int SLOT_SIZE = 64;
+  private static final int SLOTS_PER_ROW = 6;
+
+  private final BufferedImage atlas;
+  private final BufferedImage[] sprites;
+  private final ImageCategory[] baseTiles;
+  private final long loadNanos;
+
+  /**
+   * Constructs the atlas by decoding every asset.
+   *
+   * @throws IllegalStateException if an asset cannot be read or does not fit in a slot
+   */
+  SpriteAtlas() throws IllegalStateException {
+    long start = System.nanoTime();
+
+    ImageCategory[] categories = ImageCategory.values();
+    int rows = (categories.length + SLOTS_PER_ROW - 1) / SLOTS_PER_ROW;
+    this.atlas = new BufferedImage(SLOTS_PER_ROW * SLOT_SIZE, rows * SLOT_SIZE,
+            BufferedImage.TYPE_INT_ARGB);
+    this.sprites = new BufferedImage[categories.length];
+    this.baseTiles = new ImageCategory[1 << Direction.values().length];
+
+    Graphics2D g = this.atlas.createGraphics();
+    for (ImageCategory category : categories) {
+      BufferedImage image = readImage(category.getFilePath());
+      if (image.getWidth() > SLOT_SIZE || image.getHeight() > SLOT_SIZE) {
+        throw new IllegalStateException("Image asset too large for the sprite atlas!");
+      }
+
+      int x = (category.ordinal() % SLOTS_PER_ROW) * SLOT_SIZE;
+      int y = (category.ordinal() / SLOTS_PER_ROW) * SLOT_SIZE;
+      g.drawImage(image, x, y, null);
+      this.sprites[category.ordinal()] = this.atlas.getSubimage(x, y,
+              image.getWidth(), image.getHeight());
+
+      int mask = directionMaskOf(category);
+      if (mask > 0) {
+        this.baseTiles[mask] = category;
+      }
+    }
+    g.dispose();
+
+    this.loadNanos = System.nanoTime() - start;
+  }
+
+  /**
+   * Retrieves the atlas shared by the whole process, loading it on first use.
+   *
+   * @return the shared sprite atlas
+   */
+  static SpriteAtlas getShared() {
+    return Holder.SHARED;
+  }
+
+  /**
+   * Retrieves the sprite of an asset.
+   *
+   * @param category the asset
+   * @return the sprite, to be drawn from but not drawn on
+   */
+  BufferedImage getSprite(ImageCategory category) {
+    return this.sprites[category.ordinal()];
+  }
+
+  /**
+   * Retrieves the asset of the location tile showing the given directions.
+   *
+   * @param directionMask the directions, bit (1 << ordinal) per direction
+   * @return the tile asset, or the blank asset if no tile shows those directions
+   */
+  ImageCategory getBaseTile(int directionMask) {
+    ImageCategory tile = this.baseTiles[directionMask];
+    return tile == null ? ImageCategory.BLANK : tile;
+  }
+
+  /**
+   * Retrieves the time it took to decode and pack all the assets.
+   *
+   * @return the loading time in nanoseconds
+   */
+  long getLoadNanos() {
+    return this.loadNanos;
+  }
+
+  /**
+   * Retrieves the memory taken by the pixels of the atlas.
+   *
+   * @return the size of the atlas image in bytes
+   */
+  long getHeapBytes() {
+    return (long) this.atlas.getWidth() * this.atlas.getHeight() * Integer.BYTES;
+  }
+
+  @Override
+  public String toString() {
+    return this.sprites.length + " sprites in a " + this.atlas.getWidth() + "x"
+            + this.atlas.getHeight() + " atlas, " + this.getHeapBytes() / 1024 + " KB, loaded in "
+            + this.loadNanos / 1_000_000 + " ms";
+  }
+
+  private static int directionMaskOf(ImageCategory category) {
+    // tile assets are named after the directions they show, e.g., "/assets/ENS.png"
+    String path = category.getFilePath();
+    String name = path.substring(path.lastIndexOf('/') + 1, path.length() - 4);
+    int mask = 0;
+
+    for (char c : name.toCharArray()) {
+      if (c == 'N') {
+        mask |= 1 << Direction.NORTH.ordinal();
+      } else if (c == 'S') {
+        mask |= 1 << Direction.SOUTH.ordinal();
+      } else if (c == 'E') {
+        mask |= 1 << Direction.EAST.ordinal();
+      } else if (c == 'W') {
+        mask |= 1 << Direction.WEST.ordinal();
+      } else {
+        return 0;
+      }
+    }
+    return mask;
+  }
+
+  private static BufferedImage readImage(String filePath) {
+    try (InputStream imageStream = SpriteAtlas.class.getResourceAsStream(filePath)) {
+      if (imageStream == null) {
+        throw new IOException("Missing " + filePath);
+      }
+      return ImageIO.read(imageStream);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to find base location image!");
+    }
+  }
+
+  private static class Holder {
+    private static final SpriteAtlas SHARED = new SpriteAtlas();
+  }
+}
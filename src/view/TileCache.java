@@ -0,0 +1,227 @@
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import model.Smell;
+
+/**
+ * The TileCache class represents a process-wide cache of the images drawn for dungeon locations.
+ * Tiles are composed from the sprites of a {@link SpriteAtlas}, scaled once per tile size and
+ * kept until they are evicted as the least recently used tiles, or until the tile size changes.
+ *
+ * <p>Tiles are keyed by what they show: the directions out of the location, whether a living
+ * otyugh and the player are there, the smell the player detects and whether it was visited.
+ * Tiles of unvisited locations all look the same and share one key.
+ */
+final class TileCache {
+  private static final int DEFAULT_CAPACITY = 512;
+  private static final TileCache SHARED = new TileCache(SpriteAtlas.getShared(),
+          DEFAULT_CAPACITY);
+
+  private final SpriteAtlas atlas;
+  private final Map<Long, Image> tiles;
+  private int tileWidth;
+  private int tileHeight;
+  private long hits;
+  private long misses;
+
+  /**
+   * Constructs an empty tile cache.
+   *
+   * @param atlas    the atlas to compose tiles from
+   * @param capacity the number of scaled tiles kept at once
+   * @throws IllegalArgumentException if the atlas is null or the capacity is not positive
+   */
+  TileCache(SpriteAtlas atlas, int capacity) throws IllegalArgumentException {
+    if (atlas == null) {
+      throw new IllegalArgumentException("Sprite atlas cannot be null!");
+    } else if (capacity <= 0) {
+      throw new IllegalArgumentException("Tile cache capacity should be positive!");
+    }
+
+    this.atlas = atlas;
+    this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Image> eldest) {
+        return this.size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Retrieves the tile cache shared by all the panels of the process.
+   *
+   * @return the shared tile cache
+   */
+  static TileCache getShared() {
+    return SHARED;
+  }
+
+  /**
+   * Retrieves the tile for a location, composing and scaling it if it is not cached yet.
+   * Asking for a tile of a different size than the last one flushes all the cached tiles.
+   * Tiles are composed outside the lock of the cache, so threads composing different tiles do
+   * not wait for each other, and a tile once cached is never drawn on again.
+   *
+   * @param directionMask the directions out of the location, bit (1 << ordinal) per direction
+   * @param otyugh        if a living otyugh is at the location
+   * @param player        if the player is at the location
+   * @param smell         the smell detected at the location, shown only with the player
+   * @param visited       if the location was visited by the player
+   * @param width         the width of the tile in pixels
+   * @param height        the height of the tile in pixels
+   * @return the scaled tile
+   */
+  Image getTile(int directionMask, boolean otyugh, boolean player, Smell smell,
+                boolean visited, int width, int height) {
+    width = Math.max(width, 1);
+    height = Math.max(height, 1);
+    long key = keyOf(directionMask, otyugh, player, smell, visited, width, height);
+
+    Image tile = this.lookup(key, width, height, true);
+    if (tile != null) {
+      return tile;
+    }
+
+    Image composite;
+    if (visited) {
+      composite = PanelImage.makeImage(this.atlas, directionMask, otyugh, player, smell);
+    } else {
+      composite = this.atlas.getSprite(ImageCategory.BLANK);
+    }
+
+    return this.store(key, width, height, scale(composite, width, height));
+  }
+
+  /**
+   * Retrieves the tile for a location only if it is already cached, without composing it.
+   * Peeking is not counted as a hit or a miss, only the requests that may compose a tile are.
+   *
+   * @param directionMask the directions out of the location, bit (1 << ordinal) per direction
+   * @param otyugh        if a living otyugh is at the location
+   * @param player        if the player is at the location
+   * @param smell         the smell detected at the location, shown only with the player
+   * @param visited       if the location was visited by the player
+   * @param width         the width of the tile in pixels
+   * @param height        the height of the tile in pixels
+   * @return the scaled tile, or null if it is not cached
+   */
+  Image peekTile(int directionMask, boolean otyugh, boolean player, Smell smell,
+                 boolean visited, int width, int height) {
+    width = Math.max(width, 1);
+    height = Math.max(height, 1);
+
+    return this.lookup(keyOf(directionMask, otyugh, player, smell, visited, width, height),
+            width, height, false);
+  }
+
+  /**
+   * Computes the key of the tile for a location, the same for all the locations whose tiles
+   * look the same.
+   *
+   * @param directionMask the directions out of the location, bit (1 << ordinal) per direction
+   * @param otyugh        if a living otyugh is at the location
+   * @param player        if the player is at the location
+   * @param smell         the smell detected at the location, shown only with the player
+   * @param visited       if the location was visited by the player
+   * @param width         the width of the tile in pixels
+   * @param height        the height of the tile in pixels
+   * @return the key of the tile
+   */
+  static long keyOf(int directionMask, boolean otyugh, boolean player, Smell smell,
+                    boolean visited, int width, int height) {
+    long key = 0;
+    if (visited) {
+      key = 1 | directionMask << 1 | (otyugh ? 1 : 0) << 5 | (player ? 1 : 0) << 6
+              | (player ? smell.ordinal() : 0) << 7;
+    }
+    return key | (long) width << 16 | (long) height << 40;
+  }
+
+  /**
+   * Drops all the cached tiles, e.g., when the panels are resized. The sprite atlas is kept.
+   */
+  synchronized void flush() {
+    this.tiles.clear();
+  }
+
+  /**
+   * Retrieves the number of tiles currently cached.
+   *
+   * @return the number of cached tiles
+   */
+  synchronized int getSize() {
+    return this.tiles.size();
+  }
+
+  /**
+   * Retrieves the number of tile requests served from the cache.
+   *
+   * @return the number of cache hits
+   */
+  synchronized long getHits() {
+    return this.hits;
+  }
+
+  /**
+   * Retrieves the number of tile requests that composed a new tile.
+   *
+   * @return the number of cache misses
+   */
+  synchronized long getMisses() {
+    return this.misses;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return this.tiles.size() + " tiles of " + this.tileWidth + "x" + this.tileHeight + ", "
+            + this.hits + " hits, " + this.misses + " misses, with " + this.atlas;
+  }
+
+  private synchronized Image lookup(long key, int width, int height, boolean counted) {
+    if (width != this.tileWidth || height != this.tileHeight) {
+      this.tiles.clear();
+      this.tileWidth = width;
+      this.tileHeight = height;
+    }
+
+    Image tile = this.tiles.get(key);
+    if (!counted) {
+      return tile;
+    } else if (tile != null) {
+      this.hits += 1;
+    } else {
+      this.misses += 1;
+    }
+    return tile;
+  }
+
+  private synchronized Image store(long key, int width, int height, Image tile) {
+    if (width != this.tileWidth || height != this.tileHeight) {
+      // the tile size changed while the tile was composed, it is not kept
+      return tile;
+    }
+
+    // another thread may have composed the same tile meanwhile, the first one is kept
+    Image cached = this.tiles.putIfAbsent(key, tile);
+    return cached == null ? tile : cached;
+  }
+
+  private static Image scale(Image source, int width, int height) {
+    // drawn right away, unlike getScaledInstance which scales lazily on every draw
+    BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = scaled.createGraphics();
+    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+            RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+    g.drawImage(source, 0, 0, width, height, null);
+    g.dispose();
+
+    return scaled;
+  }
+}
@@ -0,0 +1,201 @@
+package view;
+
+import java.awt.Image;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+import model.Smell;
+
+/**
+ * The TileComposer class represents worker threads composing the tiles of a {@link TileCache}
+ * away from the Swing event dispatch thread. Components ask for a tile while painting, and get
+ * it right away if it is cached, else the tile is queued for composition and the component is
+ * repainted once it is ready.
+ *
+ * <p>Requests for the same tile are coalesced, so a tile is composed once however many
+ * components wait for it. The queue is bounded: the newest requests, most likely for the part of
+ * the map in view, are composed first, and once the queue is full the oldest requests are
+ * dropped and their components repainted, so that they ask again if they are still in view.
+ */
+final class TileComposer {
+  private static final int DEFAULT_CAPACITY = 256;
+
+  private final TileCache cache;
+  private final int capacity;
+  private final Deque<Long> queue;
+  private final Map<Long, Request> pending;
+
+  /**
+   * Constructs a tile composer and starts its worker threads.
+   *
+   * @param cache    the cache to compose the tiles into
+   * @param capacity the number of tiles waiting to be composed at most
+   * @param workers  the number of worker threads
+   * @throws IllegalArgumentException if the cache is null, or the capacity or the number of
+   *                                  workers is not positive
+   */
+  TileComposer(TileCache cache, int capacity, int workers) throws IllegalArgumentException {
+    if (cache == null) {
+      throw new IllegalArgumentException("Tile cache cannot be null!");
+    } else if (capacity <= 0) {
+      throw new IllegalArgumentException("Tile queue capacity should be positive!");
+    } else if (workers <= 0) {
+      throw new IllegalArgumentException("Number of tile workers should be positive!");
+    }
+
+    this.cache = cache;
+    this.capacity = capacity;
+    this.queue = new ArrayDeque<>();
+    this.pending = new HashMap<>();
+
+    for (int i = 0; i < workers; i++) {
+      Thread worker = new Thread(this::work, "tile-composer-" + i);
+      worker.setDaemon(true);
+      worker.start();
+    }
+  }
+
+  /**
+   * Retrieves the composer of the tile cache shared by all the panels of the process.
+   *
+   * @return the shared tile composer
+   */
+  static TileComposer getShared() {
+    return Holder.SHARED;
+  }
+
+  /**
+   * Retrieves the tile for a location if it is cached, else queues it for composition.
+   *
+   * @param component     the component to repaint once the tile is ready
+   * @param directionMask the directions out of the location, bit (1 << ordinal) per direction
+   * @param otyugh        if a living otyugh is at the location
+   * @param player        if the player is at the location
+   * @param smell         the smell detected at the location, shown only with the player
+   * @param visited       if the location was visited by the player
+   * @param width         the width of the tile in pixels
+   * @param height        the height of the tile in pixels
+   * @return the scaled tile, or null if it is not composed yet
+   */
+  Image getTile(JComponent component, int directionMask, boolean otyugh, boolean player,
+                Smell smell, boolean visited, int width, int height) {
+    Image tile = this.cache.peekTile(directionMask, otyugh, player, smell, visited,
+            width, height);
+    if (tile != null) {
+      return tile;
+    }
+
+    long key = TileCache.keyOf(directionMask, otyugh, player, smell, visited,
+            Math.max(width, 1), Math.max(height, 1));
+    List<JComponent> dropped = null;
+
+    synchronized (this) {
+      Request request = this.pending.get(key);
+
+      if (request == null) {
+        if (this.queue.size() >= this.capacity) {
+          dropped = this.pending.remove(this.queue.removeFirst()).waiting;
+        }
+
+        request = new Request(directionMask, otyugh, player, smell, visited, width, height);
+        this.pending.put(key, request);
+        this.queue.addLast(key);
+        this.notify();
+      }
+
+      if (!request.waiting.contains(component)) {
+        request.waiting.add(component);
+      }
+    }
+
+    if (dropped != null) {
+      repaintLater(dropped);
+    }
+    return null;
+  }
+
+  /**
+   * Retrieves the number of tiles waiting to be composed.
+   *
+   * @return the number of queued tiles
+   */
+  synchronized int getQueueSize() {
+    return this.queue.size();
+  }
+
+  private void work() {
+    while (true) {
+      long key;
+      Request request;
+
+      synchronized (this) {
+        while (this.queue.isEmpty()) {
+          try {
+            this.wait();
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+
+        // the request stays pending while it is composed, so new requests join it
+        key = this.queue.removeLast();
+        request = this.pending.get(key);
+      }
+
+      try {
+        this.cache.getTile(request.directionMask, request.otyugh, request.player,
+                request.smell, request.visited, request.width, request.height);
+      } finally {
+        List<JComponent> waiting;
+        synchronized (this) {
+          this.pending.remove(key);
+          waiting = request.waiting;
+        }
+        repaintLater(waiting);
+      }
+    }
+  }
+
+  private static void repaintLater(List<JComponent> components) {
+    SwingUtilities.invokeLater(() -> {
+      for (JComponent component : components) {
+        component.repaint();
+      }
+    });
+  }
+
+  private static class Request {
+    private final int directionMask;
+    private final boolean otyugh;
+    private final boolean player;
+    private final Smell smell;
+    private final boolean visited;
+    private final int width;
+    private final int height;
+    private final List<JComponent> waiting;
+
+    Request(int directionMask, boolean otyugh, boolean player, Smell smell, boolean visited,
+            int width, int height) {
+      this.directionMask = directionMask;
+      this.otyugh = otyugh;
+      this.player = player;
+      this.smell = smell;
+      this.visited = visited;
+      this.width = width;
+      this.height = height;
+      this.waiting = new ArrayList<>();
+    }
+  }
+
+  private static class Holder {
+    private static final TileComposer SHARED = new TileComposer(TileCache.getShared(),
+            DEFAULT_CAPACITY, Math.max(1, Math.min(4,
+            Runtime.getRuntime().availableProcessors() - 1)));
+  }
+}
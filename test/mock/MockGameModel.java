@@ -6,8 +6,10 @@ import model.Direction;
 import model.GameModel;
 import model.IDungeon;
 import model.IPlayer;
+import model.InventorySnapshot;
 import model.Item;
 import model.Location;
+import model.ModelChangeListener;
 
 /**
  * This class represent s a mock model for JUnit testing.
@@ -127,8 +129,23 @@ public class MockGameModel implements GameModel {
     return false;
   }
 
+  @Override
+  public InventorySnapshot getInventorySnapshot() {
+    return null;
+  }
+
   @Override
   public String getGameState() {
     return null;
   }
+
+  @Override
+  public void addModelChangeListener(ModelChangeListener listener) {
+    // the mock model never changes
+  }
+
+  @Override
+  public void removeModelChangeListener(ModelChangeListener listener) {
+    // the mock model never changes
+  }
 }
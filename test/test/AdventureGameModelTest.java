@@ -3,20 +3,42 @@ package test;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
 
 import model.AdventureGameModel;
+import model.CalibrationEntry;
+import model.CalibrationTable;
+import model.CaveDistanceOracle;
+import model.DifficultyCalibrator;
+import model.DifficultyPreset;
 import model.Direction;
+import model.DungeonParameters;
+import model.GameSimulator;
+import model.GameSolver;
+import model.InventorySnapshot;
 import model.Location;
+import model.ModelChange;
+import model.OptimalPolicy;
+import model.RandomWalkPolicy;
+import model.SimulationStats;
 import model.Smell;
 import model.Treasure;
 import model.Weapon;
@@ -342,6 +364,71 @@ public class AdventureGameModelTest {
     }
   }
 
+  @Test
+  public void testCaveDistanceOracle() {
+    AdventureGameModel game = new AdventureGameModel(this.rand, 8, 9, true, 3, 20, 2);
+    CaveDistanceOracle tabulated = new CaveDistanceOracle(game.getDungeon());
+    CaveDistanceOracle labeled = new CaveDistanceOracle(game.getDungeon(), 0, 1);
+    assertTrue(tabulated.isTabulated());
+    assertFalse(labeled.isTabulated());
+    assertTrue(labeled.getEntries() < tabulated.getEntries());
+
+    int[] start = game.getGameStart().getCoordinates();
+    int[] end = game.getGameEnd().getCoordinates();
+    for (int row = 0; row < 8; row++) {
+      for (int col = 0; col < 9; col++) {
+        // caves and tunnels alike, from the start and from the end
+        Location location = game.getDungeon().getLocation(row, col);
+        int fromStart = breadthFirstSearch(start[0], start[1], row, col, game);
+        int fromEnd = breadthFirstSearch(end[0], end[1], row, col, game);
+
+        assertEquals(fromStart, tabulated.distance(game.getGameStart(), location));
+        assertEquals(fromStart, labeled.distance(game.getGameStart(), location));
+        assertEquals(fromEnd, tabulated.distance(location, game.getGameEnd()));
+        assertEquals(fromEnd, labeled.distance(location, game.getGameEnd()));
+      }
+    }
+  }
+
+  /**
+   * Moves the player along a shortest way to a location next to the given one, without
+   * entering it, and returns the direction from there into the given location.
+   */
+  private Direction walkNextTo(AdventureGameModel game, Location target) {
+    Location start = game.getPlayer().getCurrentLocation();
+    Map<Location, Location> cameFrom = new HashMap<>();
+    Map<Location, Direction> movedIn = new HashMap<>();
+    Queue<Location> q = new LinkedList<>();
+    q.add(start);
+    cameFrom.put(start, start);
+
+    while (!q.isEmpty()) {
+      Location cell = q.remove();
+
+      for (Direction d : cell.getPossibleDirections()) {
+        if (cell.getNeighbourId(d) == target.getId()) {
+          LinkedList<Direction> moves = new LinkedList<>();
+          for (Location at = cell; !at.equals(start); at = cameFrom.get(at)) {
+            moves.addFirst(movedIn.get(at));
+          }
+          for (Direction move : moves) {
+            game.movePlayer(move);
+          }
+          return d;
+        }
+
+        int[] coordinates = cell.getNeighbour(d);
+        Location child = game.getDungeon().getLocation(coordinates[0], coordinates[1]);
+        if (!cameFrom.containsKey(child)) {
+          cameFrom.put(child, cell);
+          movedIn.put(child, d);
+          q.add(child);
+        }
+      }
+    }
+    throw new IllegalStateException("No way next to the location!");
+  }
+
   private int breadthFirstSearch(int startX, int startY, int endX, int endY,
                                  AdventureGameModel game) {
     Set<Location> visited = new HashSet<>();
@@ -535,6 +622,213 @@ public class AdventureGameModelTest {
     assertEquals(Smell.MORE_PUNGENT, nonWrappingGame.getPlayer().getCurrentLocation().getSmell());
   }
 
+  @Test
+  public void testSmellFadesWhenMonsterKilled() {
+    Random rand = new Randomizer(16).getRandom();
+    int rows = 4;
+    int cols = 4;
+    int ic = 0;
+    boolean wrap = false;
+    int pct = 50;
+    int diff = 3;
+    AdventureGameModel nonWrappingGame = new AdventureGameModel(rand,
+            rows, cols, wrap, ic, pct, diff);
+
+    assertEquals(Smell.MORE_PUNGENT, nonWrappingGame.getPlayer().getCurrentLocation().getSmell());
+
+    nonWrappingGame.shootArrow(Direction.SOUTH, 1);
+    assertEquals(Smell.MORE_PUNGENT, nonWrappingGame.getPlayer().getCurrentLocation().getSmell());
+
+    nonWrappingGame.shootArrow(Direction.SOUTH, 1);
+    assertEquals(Smell.LESS_PUNGENT, nonWrappingGame.getPlayer().getCurrentLocation().getSmell());
+  }
+
+  @Test
+  public void testModelChangeListener() {
+    AdventureGameModel game = new AdventureGameModel(new Randomizer(33).getRandom(),
+            4, 4, false, 0, 50, 5);
+    List<ModelChange> changes = new ArrayList<>();
+    game.addModelChangeListener(changes::add);
+
+    int[] start = game.getPlayer().getCurrentLocation().getCoordinates();
+    game.movePlayer(Direction.NORTH);
+    int[] next = game.getPlayer().getCurrentLocation().getCoordinates();
+
+    assertEquals(1, changes.size());
+    assertTrue(changes.get(0).isPlayerChanged());
+    assertFalse(changes.get(0).isInventoryChanged());
+    assertArrayEquals(start, changes.get(0).getChangedCells().get(0));
+    assertArrayEquals(next, changes.get(0).getChangedCells().get(1));
+
+    game.shootArrow(Direction.SOUTH, 1);
+
+    assertEquals(2, changes.size());
+    assertFalse(changes.get(1).isPlayerChanged());
+    assertTrue(changes.get(1).isInventoryChanged());
+    assertArrayEquals(next, changes.get(1).getChangedCells().get(0));
+  }
+
+  @Test
+  public void testInventorySnapshot() {
+    AdventureGameModel wrappingGame = new AdventureGameModel(this.rand,
+            4, 4, true, 5, 50, 5);
+
+    InventorySnapshot before = wrappingGame.getInventorySnapshot();
+    assertSame(before, wrappingGame.getInventorySnapshot());
+    assertEquals(3, before.getPlayerArrows());
+    assertEquals(0, before.getPlayerTreasure(Treasure.RUBY));
+    int rubies = before.getLocationTreasure(Treasure.RUBY);
+
+    wrappingGame.pickItem(Treasure.RUBY);
+
+    InventorySnapshot after = wrappingGame.getInventorySnapshot();
+    assertNotEquals(before.getVersion(), after.getVersion());
+    assertEquals(1, after.getPlayerTreasure(Treasure.RUBY));
+    assertEquals(rubies - 1, after.getLocationTreasure(Treasure.RUBY));
+    assertEquals(before.getLocationArrows(), after.getLocationArrows());
+  }
+
+  @Test
+  public void testGameSimulator() {
+    DungeonParameters params = new DungeonParameters(6, 6, false, 2, 50, 2);
+    SimulationStats stats = GameSimulator.simulate(params, 42, 64, RandomWalkPolicy::new, 500);
+
+    assertEquals(64, stats.getGames());
+    assertEquals(stats.getGames(), stats.getFailedBuilds() + stats.getWins()
+            + stats.getDeaths() + stats.getTimeouts());
+    assertEquals(stats.getTurns(), stats.getMoves() + stats.getPicks()
+            + stats.getArrowsShot() + stats.getInvalidTurns());
+    assertTrue(stats.getWins() > 0);
+    assertTrue(stats.getArrowsHit() <= stats.getArrowsShot());
+
+    // fights with injured otyughs depend on the seeds too, so the same seeds give the same totals
+    SimulationStats again = GameSimulator.simulate(params, 42, 64, RandomWalkPolicy::new, 500);
+    assertEquals(stats.getWins(), again.getWins());
+    assertEquals(stats.getDeathsByUnharmedOtyugh(), again.getDeathsByUnharmedOtyugh());
+    assertEquals(stats.getDeathsByInjuredOtyugh(), again.getDeathsByInjuredOtyugh());
+    assertEquals(stats.getTimeouts(), again.getTimeouts());
+    assertEquals(stats.getTurns(), again.getTurns());
+    assertEquals(stats.getArrowsShot(), again.getArrowsShot());
+    assertEquals(stats.getArrowsHit(), again.getArrowsHit());
+  }
+
+  @Test
+  public void testGameSolver() {
+    DungeonParameters params = new DungeonParameters(30, 30, false, 1, 20, 80);
+    AdventureGameModel game = new AdventureGameModel(params.buildCompact(new Random(3)));
+    GameSolver solver = new GameSolver(game, 1 << 16);
+
+    double chance = solver.getWinProbability();
+    assertTrue(chance >= 0 && chance <= 1);
+    assertEquals(chance > 0, solver.isWinnable());
+    assertTrue(solver.getStatesSolved() > 0);
+
+    // chances are products of halves, so solving again gives the very same chance
+    assertEquals(chance, new GameSolver(game).getWinProbability(), 0);
+
+    // the policy only takes actions the game accepts, and finishes every game
+    SimulationStats stats = GameSimulator.simulate(new DungeonParameters(8, 8, false, 3, 30, 3),
+            11, 50, OptimalPolicy::new, 2000);
+    assertEquals(0, stats.getInvalidTurns());
+    assertEquals(50, stats.getWins() + stats.getDeaths());
+  }
+
+  @Test
+  public void testGameSolverKnownChances() {
+    // no arrows lying around and no otyugh but the one at the end, only the arrows held count
+    DungeonParameters params = new DungeonParameters(6, 6, false, 0, 0, 1);
+    AdventureGameModel game = new AdventureGameModel(params.buildCompact(new Random(5)));
+    GameSolver solver = new GameSolver(game);
+
+    // two of the three arrows kill it from next to its cave
+    assertEquals(1, solver.getWinProbability(), 0);
+    assertTrue(solver.isExact());
+
+    // a single arrow only injures it, which lets the player past half the time
+    Direction away = game.getGameStart().getPossibleDirections().iterator().next();
+    game.shootArrow(away, 1);
+    game.shootArrow(away, 1);
+    assertEquals(0, game.getGameEnd().getMonster().getHitsTaken());
+    assertEquals(0.5, solver.getWinProbability(), 0);
+
+    Direction into = this.walkNextTo(game, game.getGameEnd());
+    assertTrue(game.shootArrow(into, 1));
+    assertEquals(1, game.getGameEnd().getMonster().getHitsTaken());
+    assertEquals(0, game.getPlayer().getArrowsLeft());
+    assertEquals(0.5, solver.getWinProbability(), 0);
+    assertTrue(solver.isExact());
+
+    // without any arrow, an unharmed otyugh at the end cannot be passed
+    AdventureGameModel unarmed = new AdventureGameModel(params.buildCompact(new Random(5)));
+    for (int i = 0; i < 3; i++) {
+      unarmed.shootArrow(away, 1);
+    }
+    assertEquals(0, unarmed.getGameEnd().getMonster().getHitsTaken());
+    assertEquals(0, new GameSolver(unarmed).getWinProbability(), 0);
+  }
+
+  @Test(timeout = 30000)
+  public void testGameSolverBudget() {
+    // few arrows to shoot the many otyughs with, far too many ways to gamble past them to search
+    DungeonParameters params = new DungeonParameters(30, 30, false, 10, 3, 150);
+    AdventureGameModel game = new AdventureGameModel(params.buildCompact(new Random(1)));
+    GameSolver solver = new GameSolver(game, 1 << 16, 1 << 15);
+
+    double bound = solver.getWinProbability();
+    assertFalse(solver.isExact());
+    assertTrue(bound >= 0 && bound <= 1);
+    assertEquals(1 << 15, solver.getStatesVisited());
+
+    // the default budget gives up too, and the policy still plays a turn the game accepts
+    GameSolver defaultSolver = new GameSolver(game);
+    assertTrue(defaultSolver.getWinProbability() >= bound);
+    assertFalse(defaultSolver.isExact());
+    new OptimalPolicy().takeTurn(game, new Random(1));
+  }
+
+  @Test
+  public void testDifficultyCalibration() throws IOException {
+    List<DungeonParameters> configs = DifficultyCalibrator.sweep(new int[] {6}, new int[] {6},
+            false, new int[] {2}, new double[] {50}, new int[] {1, 6, 100});
+    CalibrationTable table = DifficultyCalibrator.calibrate(configs, RandomWalkPolicy::new,
+            500, 0.1, 512, 42);
+
+    // the last configuration gets as many monsters as there are caves
+    List<CalibrationEntry> entries = table.getEntries();
+    assertEquals(3, entries.size());
+    assertTrue(entries.get(0).getWinRate() > entries.get(1).getWinRate());
+    assertTrue(entries.get(1).getWinRate() >= entries.get(2).getWinRate());
+    assertTrue(entries.get(0).getHalfWidth() <= 0.1 || entries.get(0).getGames() == 512);
+
+    assertEquals(1, table.getDifficulty(6, 6, false, 2, 50, DifficultyPreset.EASY));
+    assertEquals(table.getDifficulty(6, 6, false, 2, 50, DifficultyPreset.HARD),
+            table.getDifficulty(7, 7, false, 3, 40, DifficultyPreset.HARD));
+
+    StringBuilder out = new StringBuilder();
+    table.write(out);
+    CalibrationTable read = CalibrationTable.read(new StringReader(out.toString()));
+    assertEquals(entries.toString(), read.getEntries().toString());
+
+    // configurations no dungeon can be built for are left out
+    List<DungeonParameters> invalid = DifficultyCalibrator.sweep(new int[] {6}, new int[] {6},
+            false, new int[] {100}, new double[] {50}, new int[] {1});
+    assertEquals(0, DifficultyCalibrator.calibrate(invalid, RandomWalkPolicy::new, 500, 0.1,
+            512, 42).getEntries().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDifficultyCalibrationNullPolicies() {
+    DifficultyCalibrator.calibrate(DifficultyCalibrator.sweep(new int[] {6}, new int[] {6},
+            false, new int[] {2}, new double[] {50}, new int[] {1}), null, 500, 0.1, 512, 42);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDifficultyCalibrationNoTurns() {
+    DifficultyCalibrator.calibrate(DifficultyCalibrator.sweep(new int[] {6}, new int[] {6},
+            false, new int[] {2}, new double[] {50}, new int[] {1}), RandomWalkPolicy::new, 0,
+            0.1, 512, 42);
+  }
+
   @Test
   public void testInitialArrowCount() {
     int rows = 4;
@@ -3,11 +3,24 @@ package test;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.Random;
 
+import model.CompactDungeon;
 import model.Dungeon;
+import model.DungeonBatch;
+import model.DungeonFactory;
+import model.DungeonParameters;
+import model.Item;
+import model.Location;
+import model.MazeEngine;
+import model.Treasure;
+import model.Weapon;
 import utils.Randomizer;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
 /**
  * This class represents a JUnit test for Dungeon class.
  * It tests for Dungeon creation when given invalid arguments.
@@ -49,4 +62,105 @@ public class DungeonTest {
     Dungeon dungeon = new Dungeon(5, -2, true, -1,
             150, -5, this.rand);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testUnionFindEngineIsDeterministic() {
+    Dungeon first = new Dungeon(30, 30, true, 10,
+            20, 5, new Randomizer(7).getRandom(), MazeEngine.UNION_FIND);
+    Dungeon second = new Dungeon(30, 30, true, 10,
+            20, 5, new Randomizer(7).getRandom(), MazeEngine.UNION_FIND);
+
+    assertArrayEquals(first.getStart().getCoordinates(), second.getStart().getCoordinates());
+    assertArrayEquals(first.getEnd().getCoordinates(), second.getEnd().getCoordinates());
+
+    Location[][] firstGrid = first.getDungeonGrid();
+    Location[][] secondGrid = second.getDungeonGrid();
+    for (int row = 0; row < 30; row++) {
+      for (int col = 0; col < 30; col++) {
+        assertEquals(firstGrid[row][col].getPossibleDirections(),
+                secondGrid[row][col].getPossibleDirections());
+      }
+    }
+  }
+
+  @Test
+  public void testUnionFindEngineSpanningTree() {
+    Dungeon dungeon = new Dungeon(20, 25, false, 0,
+            20, 5, this.rand, MazeEngine.UNION_FIND);
+
+    int paths = 0;
+    for (Location[] row : dungeon.getDungeonGrid()) {
+      for (Location loc : row) {
+        paths += loc.getPossibleDirections().size();
+      }
+    }
+
+    // a spanning tree over all cells has exactly one path less than the number of cells
+    assertEquals(20 * 25 - 1, paths / 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnionFindEngineInterconnectivityTooHigh() {
+    Dungeon dungeon = new Dungeon(3, 3, false, 100,
+            20, 1, this.rand, MazeEngine.UNION_FIND);
+  }
+
+  @Test
+  public void testFactoryIsReproducibleForAnyParallelism() {
+    DungeonParameters params = new DungeonParameters(8, 8, false, 2, 20, 3);
+    long[] seeds = DungeonFactory.splitSeeds(42, 12);
+
+    DungeonBatch sequential = DungeonFactory.generate(params, seeds, 1);
+    DungeonBatch parallel = DungeonFactory.generate(params, seeds, 4);
+
+    assertEquals(12, sequential.size());
+    assertEquals(12, parallel.size());
+
+    for (int i = 0; i < seeds.length; i++) {
+      Dungeon expected = new Dungeon(8, 8, false, 2, 20, 3, new Random(seeds[i]));
+
+      assertEquals(seeds[i], parallel.getSeed(i));
+      assertArrayEquals(expected.getStart().getCoordinates(),
+              sequential.getDungeon(i).getStart().getCoordinates());
+      assertArrayEquals(expected.getStart().getCoordinates(),
+              parallel.getDungeon(i).getStart().getCoordinates());
+      assertArrayEquals(expected.getEnd().getCoordinates(),
+              parallel.getDungeon(i).getEnd().getCoordinates());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFactoryInvalidParameters() {
+    DungeonFactory.generate(new DungeonParameters(0, 8, false, 2, 20, 3), new long[]{1, 2});
+  }
+
+  @Test
+  public void testCompactDungeonMatchesDungeon() {
+    Dungeon dungeon = new Dungeon(12, 15, true, 4,
+            40, 6, new Randomizer(42).getRandom());
+    CompactDungeon compact = new CompactDungeon(12, 15, true, 4,
+            40, 6, new Randomizer(42).getRandom());
+
+    assertArrayEquals(dungeon.getStart().getCoordinates(), compact.getStart().getCoordinates());
+    assertArrayEquals(dungeon.getEnd().getCoordinates(), compact.getEnd().getCoordinates());
+    assertEquals(dungeon.getNoOfCaves(), compact.getNoOfCaves());
+    assertEquals(compact.getEnd(), compact.getLocation(compact.getEnd().getCoordinates()[0],
+            compact.getEnd().getCoordinates()[1]));
+
+    for (int row = 0; row < 12; row++) {
+      for (int col = 0; col < 15; col++) {
+        Location expected = dungeon.getLocation(row, col);
+        Location actual = compact.getLocation(row, col);
+
+        assertEquals(expected.getPossibleDirections(), actual.getPossibleDirections());
+        assertEquals(expected.isCave(), actual.isCave());
+        assertEquals(expected.hasMonster(), actual.hasMonster());
+        for (Item item : new Item[]{Treasure.DIAMOND, Treasure.RUBY, Treasure.SAPPHIRE,
+            Weapon.ARROW}) {
+          assertEquals(Collections.frequency(expected.getContent(), item),
+                  Collections.frequency(actual.getContent(), item));
+        }
+      }
+    }
+  }
+}
@@ -3,7 +3,9 @@ package test;
 import org.junit.Before;
 import org.junit.Test;
 
+import controller.AutoPilot;
 import controller.GuiGameController;
+import controller.ModelPool;
 import mock.MockGameModel;
 import mock.MockGameView;
 import model.AdventureGameModel;
@@ -11,7 +13,11 @@ import model.GameModel;
 import utils.Randomizer;
 import view.GameView;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * This class represents a JUnit test for GUI-based Controller class.
@@ -94,6 +100,18 @@ public class GuiGameControllerTest {
             log.toString());
   }
 
+  @Test
+  public void testMoveAll() {
+    controller.moveAll(new int[]{0, 2, 4, 1});
+
+    assertEquals("player moved north\ncheck game over condition\n"
+            + "player moved east\ncheck game over condition\n"
+            + "check game over condition\n"
+            + "player moved south\ncheck game over condition\n"
+            + "repaint was called\ncheck game over condition\n",
+            log.toString());
+  }
+
   @Test
   public void testClickFeature() {
     StringBuilder log = new StringBuilder();
@@ -113,4 +131,63 @@ public class GuiGameControllerTest {
     assertEquals(newPlayerLoc[0], model.getPlayer().getCurrentLocation().getCoordinates()[0]);
     assertEquals(newPlayerLoc[1], model.getPlayer().getCurrentLocation().getCoordinates()[1]);
   }
+
+  @Test
+  public void testAutoPilot() {
+    StringBuilder log = new StringBuilder();
+    GameView view = new MockGameView(log);
+    GameModel model = new AdventureGameModel(new Randomizer(7).getRandom(),
+            20, 20, true, 3, 30, 8);
+    int[] start = model.getPlayer().getCurrentLocation().getCoordinates();
+
+    controller = new GuiGameController(model, view);
+    controller.explore(10);
+    assertNotEquals(0, log.length());
+
+    // the start was visited, so the autopilot knows the way back to it
+    controller.goToCell(start[0], start[1]);
+    assertArrayEquals(start, model.getPlayer().getCurrentLocation().getCoordinates());
+
+    AutoPilot pilot = new AutoPilot(model);
+    for (int turn = 0; turn < 100000 && pilot.step(model); turn++) {
+      // explore until the end is found, or nothing is left to explore
+    }
+    assertTrue(model.isGameOver());
+    assertTrue(pilot.getPlans() > 0);
+    pilot.detach();
+  }
+
+  @Test
+  public void testModelPool() throws InterruptedException {
+    String[] small = new String[]{"5", "5", "false", "0", "50", "5"};
+    String[] large = new String[]{"6", "6", "false", "0", "50", "5"};
+    ModelPool pool = new ModelPool(1, 1, args -> new MockGameModel(new StringBuilder()));
+
+    GameModel first = pool.take(small);
+    assertEquals(0, pool.getHits());
+    assertEquals(1, pool.getMisses());
+
+    waitUntilReady(pool, small);
+    GameModel second = pool.take(small);
+    assertNotSame(first, second);
+    assertEquals(1, pool.getHits());
+    assertEquals(1, pool.getMisses());
+
+    // asking for other parameters evicts the models pooled for the old ones
+    waitUntilReady(pool, small);
+    pool.prefetch(large);
+    assertEquals(0, pool.getReadyCount(small));
+
+    pool.resetCounters();
+    assertEquals(0, pool.getHits());
+    assertEquals(0, pool.getMisses());
+    pool.shutdown();
+  }
+
+  private void waitUntilReady(ModelPool pool, String[] args) throws InterruptedException {
+    for (int i = 0; i < 500 && pool.getReadyCount(args) == 0; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(1, pool.getReadyCount(args));
+  }
 }
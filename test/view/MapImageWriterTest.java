@@ -0,0 +1,119 @@
+package view;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+
+import model.AdventureGameModel;
+import model.Direction;
+import model.Location;
+import utils.Randomizer;
+
+/**
+ * This class represents a JUnit test for the MapImageWriter class.
+ * It writes the map of a seeded game to PNG images and decodes them back, so it runs with
+ * {@code -Djava.awt.headless=true} as the writer does.
+ */
+public class MapImageWriterTest {
+  private static final int TILE_SIZE = 12;
+
+  AdventureGameModel model;
+
+  @Before
+  public void setUp() {
+    this.model = new AdventureGameModel(new Randomizer(42).getRandom(),
+            6, 9, false, 3, 50, 1);
+
+    // a few moves, so the map shows visited and unvisited locations
+    for (int i = 0; i < 4 && !this.model.isGameOver(); i++) {
+      for (Direction d : Direction.values()) {
+        try {
+          this.model.movePlayer(d);
+          break;
+        } catch (IllegalArgumentException e) {
+          // no way out in that direction, try the next one
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testMapImage() throws IOException {
+    BufferedImage image = writeAndRead(1);
+    Location[][] grid = this.model.getDungeon().getDungeonGrid();
+    int rows = grid.length;
+    int cols = grid[0].length;
+
+    assertEquals(cols * TILE_SIZE, image.getWidth());
+    assertEquals(rows * TILE_SIZE, image.getHeight());
+
+    TileCache tiles = new TileCache(SpriteAtlas.getShared(), 64);
+    Location playerLocation = this.model.getPlayer().getCurrentLocation();
+    int[] samples = {0, TILE_SIZE / 3, TILE_SIZE / 2, TILE_SIZE - 1};
+
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        Location loc = this.model.getDungeon().getLocation(row, col);
+        boolean player = this.model.getPlayer().isAlive()
+                && playerLocation.getId() == loc.getId();
+        boolean otyugh = loc.hasMonster() && loc.getMonster().isAlive();
+        BufferedImage expected = opaque(tiles.getTile(loc.getDirectionMask(), otyugh, player,
+                loc.getSmell(), loc.isVisited(), TILE_SIZE, TILE_SIZE));
+
+        for (int y : samples) {
+          for (int x : samples) {
+            assertEquals(expected.getRGB(x, y),
+                    image.getRGB(col * TILE_SIZE + x, row * TILE_SIZE + y));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testMapImageParallelism() throws IOException {
+    BufferedImage sequential = writeAndRead(1);
+    BufferedImage parallel = writeAndRead(4);
+
+    assertEquals(sequential.getWidth(), parallel.getWidth());
+    assertEquals(sequential.getHeight(), parallel.getHeight());
+    for (int y = 0; y < sequential.getHeight(); y++) {
+      for (int x = 0; x < sequential.getWidth(); x++) {
+        assertEquals(sequential.getRGB(x, y), parallel.getRGB(x, y));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMapImageInvalidTileSize() throws IOException {
+    MapImageWriter.writePng(this.model, 0, new ByteArrayOutputStream(), 1);
+  }
+
+  private BufferedImage writeAndRead(int parallelism) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MapImageWriter.writePng(this.model, TILE_SIZE, out, parallelism);
+
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    assertNotNull(image);
+    return image;
+  }
+
+  private static BufferedImage opaque(Image tile) {
+    // the writer draws the tiles on an opaque band, so transparent pixels come out black
+    BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    g.drawImage(tile, 0, 0, null);
+    g.dispose();
+    return image;
+  }
+}
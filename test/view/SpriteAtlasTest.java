@@ -0,0 +1,26 @@
+package view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class represents a JUnit test for the SpriteAtlas class.
+ * It reads the statistics of the shared atlas, loading it if no other test did.
+ */
+public class SpriteAtlasTest {
+
+  @Test
+  public void testSpriteAtlas() {
+    SpriteAtlas atlas = SpriteAtlas.getShared();
+    int sprites = ImageCategory.values().length;
+
+    assertTrue(atlas.getLoadNanos() > 0);
+    // every sprite has a slot of its own in the atlas
+    assertTrue(atlas.getHeapBytes() >= (long) sprites * Integer.BYTES);
+    assertTrue(atlas.toString().startsWith(sprites + " sprites in a "));
+    assertTrue(atlas.toString().contains(atlas.getHeapBytes() / 1024 + " KB"));
+    assertEquals(ImageCategory.BLANK, atlas.getBaseTile(0));
+  }
+}
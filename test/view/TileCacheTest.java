@@ -0,0 +1,40 @@
+package view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Image;
+
+import model.Smell;
+
+/**
+ * This class represents a JUnit test for the TileCache class.
+ * It checks which tile requests are served from the cache and how they are counted.
+ */
+public class TileCacheTest {
+  private static final int TILE_SIZE = 12;
+
+  @Test
+  public void testTileCacheCounts() {
+    TileCache tiles = new TileCache(SpriteAtlas.getShared(), 8);
+
+    // peeking does not count, only the requests that may compose a tile do
+    assertNull(tiles.peekTile(0, false, false, Smell.NONE, false, TILE_SIZE, TILE_SIZE));
+    assertEquals(0, tiles.getMisses());
+
+    Image tile = tiles.getTile(0, false, false, Smell.NONE, false, TILE_SIZE, TILE_SIZE);
+    assertEquals(0, tiles.getHits());
+    assertEquals(1, tiles.getMisses());
+
+    assertSame(tile, tiles.peekTile(0, false, false, Smell.NONE, false, TILE_SIZE, TILE_SIZE));
+    assertSame(tile, tiles.getTile(0, false, false, Smell.NONE, false, TILE_SIZE, TILE_SIZE));
+    assertEquals(1, tiles.getHits());
+    assertEquals(1, tiles.getMisses());
+    assertEquals(1, tiles.getSize());
+    assertTrue(tiles.toString().startsWith("1 tiles of 12x12, 1 hits, 1 misses, with "));
+  }
+}